@@ -0,0 +1,97 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import bignumber.BigNumberAdder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Many threads adding into one shared total, with BigNumberAdder and with a compare and set loop around an
+ * AtomicReference. The thread count is a JMH option rather than a parameter, so run it once per count,
+ * for example with -Pjmh="AdderBenchmark -t 64".
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdderBenchmark
+{
+
+   /**
+    *
+    * The amounts that get added, whose denominators all divide 360 so that the totals stay small.
+    *
+    */
+   private static final BigNumber[] AMOUNTS =
+      {
+         BigNumber.valueOf(1, 2),
+         BigNumber.valueOf(1, 3),
+         BigNumber.valueOf(3, 4),
+         BigNumber.valueOf(2, 5),
+         BigNumber.valueOf(7, 8),
+         BigNumber.valueOf(5, 9),
+         BigNumber.valueOf(7, 10),
+         BigNumber.valueOf(11, 12)
+      };
+
+   /**
+    *
+    * The striped total.
+    *
+    */
+   private final BigNumberAdder adder = new BigNumberAdder();
+
+   /**
+    *
+    * The compare and set total.
+    *
+    */
+   private final AtomicReference<BigNumber> reference = new AtomicReference<>(BigNumber.ZERO);
+
+   /**
+    *
+    * Starts each iteration from 0.
+    *
+    */
+   @Setup(Level.Iteration)
+   public void reset()
+   {
+   
+      this.adder.reset();
+      this.reference.set(BigNumber.ZERO);
+   
+   }
+
+   @Benchmark
+   public void striped()
+   {
+   
+      this.adder.add(AMOUNTS[ThreadLocalRandom.current().nextInt(AMOUNTS.length)]);
+   
+   }
+
+   @Benchmark
+   public BigNumber compareAndSet()
+   {
+   
+      return this.reference.accumulateAndGet(AMOUNTS[ThreadLocalRandom.current().nextInt(AMOUNTS.length)], BigNumber::add);
+   
+   }
+
+}
\ No newline at end of file
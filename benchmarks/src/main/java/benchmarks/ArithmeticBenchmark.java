@@ -0,0 +1,106 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * The arithmetic operations, over every operand size and form.
+ *
+ * addCrossMultiply is the way add used to work, cross multiplying and then running a single gcd over the whole
+ * result, and is kept as the baseline for add.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark
+{
+
+   @Benchmark
+   public BigNumber add(Operands operands)
+   {
+   
+      return operands.left.add(operands.right);
+   
+   }
+
+   @Benchmark
+   public BigNumber addCrossMultiply(Operands operands)
+   {
+   
+      final BigInteger leftDenominator = operands.left.getDenominator();
+      final BigInteger rightDenominator = operands.right.getDenominator();
+   
+      return new BigNumber(operands.left.getNumerator().multiply(rightDenominator).add(operands.right.getNumerator().multiply(leftDenominator)),
+         leftDenominator.multiply(rightDenominator));
+   
+   }
+
+   @Benchmark
+   public BigNumber subtract(Operands operands)
+   {
+   
+      return operands.left.subtract(operands.right);
+   
+   }
+
+   @Benchmark
+   public BigNumber multiply(Operands operands)
+   {
+   
+      return operands.left.multiply(operands.right);
+   
+   }
+
+   @Benchmark
+   public BigNumber divide(Operands operands)
+   {
+   
+      return operands.left.divide(operands.right);
+   
+   }
+
+   @Benchmark
+   public BigNumber negate(Operands operands)
+   {
+   
+      return operands.left.negate();
+   
+   }
+
+   @Benchmark
+   public BigNumber pow(Operands operands)
+   {
+   
+      return operands.left.pow(3);
+   
+   }
+
+   @Benchmark
+   public BigNumber fma(Operands operands)
+   {
+   
+      return operands.left.fma(operands.right, operands.left);
+   
+   }
+
+   @Benchmark
+   public int compareTo(Operands operands)
+   {
+   
+      return operands.left.compareTo(operands.right);
+   
+   }
+
+}
\ No newline at end of file
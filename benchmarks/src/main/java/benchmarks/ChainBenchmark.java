@@ -0,0 +1,115 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import bignumber.LazyBigNumber;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Chains of alternating adds and multiplies where only the final value is read, evaluated eagerly with BigNumber
+ * and lazily with LazyBigNumber.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChainBenchmark
+{
+
+   /**
+    *
+    * The number of operations in the chain.
+    *
+    */
+   @Param({"10", "100", "1000"})
+   public int length;
+
+   /**
+    *
+    * The operands, one per operation.
+    *
+    */
+   private BigNumber[] eager;
+
+   /**
+    *
+    * The same operands, as LazyBigNumbers.
+    *
+    */
+   private LazyBigNumber[] lazy;
+
+   /**
+    *
+    * Builds small random fractions for the chain.
+    *
+    */
+   @Setup(Level.Trial)
+   public void setUp()
+   {
+   
+      final Random random = new Random(this.length);
+   
+      this.eager = new BigNumber[this.length];
+      this.lazy = new LazyBigNumber[this.length];
+   
+      for (int i = 0; i < this.length; i++)
+      {
+      
+         this.eager[i] = BigNumber.valueOf(random.nextInt(1000) + 1, random.nextInt(1000) + 1);
+         this.lazy[i] = new LazyBigNumber(this.eager[i]);
+      
+      }
+   
+   }
+
+   @Benchmark
+   public BigNumber eager()
+   {
+   
+      BigNumber result = BigNumber.ONE;
+   
+      for (int i = 0; i < this.length; i++)
+      {
+      
+         result = (i & 1) == 0 ? result.add(this.eager[i]) : result.multiply(this.eager[i]);
+      
+      }
+   
+      return result;
+   
+   }
+
+   @Benchmark
+   public BigNumber lazy()
+   {
+   
+      LazyBigNumber result = new LazyBigNumber(1);
+   
+      for (int i = 0; i < this.length; i++)
+      {
+      
+         result = (i & 1) == 0 ? result.add(this.lazy[i]) : result.multiply(this.lazy[i]);
+      
+      }
+   
+      return result.toBigNumber();
+   
+   }
+
+}
\ No newline at end of file
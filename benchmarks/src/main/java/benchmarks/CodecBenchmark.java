@@ -0,0 +1,139 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import bignumber.BigNumberCodec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Writing and reading a value with BigNumberCodec, against toString() and valueOf(String) as ASCII bytes.
+ * The sizes of both encodings get printed at the end of each trial.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark
+{
+
+   /**
+    *
+    * How many bits the numerator and denominator have. Up to 61 bits, values use the small varint form.
+    *
+    */
+   @Param({"16", "60", "256", "4096", "65536"})
+   public int bits;
+
+   /**
+    *
+    * The value.
+    *
+    */
+   private BigNumber value;
+
+   /**
+    *
+    * A buffer big enough for the binary encoding.
+    *
+    */
+   private ByteBuffer buffer;
+
+   /**
+    *
+    * The binary encoding.
+    *
+    */
+   private ByteBuffer binary;
+
+   /**
+    *
+    * The text encoding.
+    *
+    */
+   private byte[] text;
+
+   /**
+    *
+    * Builds the value and both of its encodings.
+    *
+    */
+   @Setup(Level.Trial)
+   public void setUp()
+   {
+   
+      final Random random = new Random(this.bits);
+   
+      this.value = new BigNumber(Operands.random(random, this.bits).negate(), Operands.random(random, this.bits));
+      this.buffer = ByteBuffer.allocate(BigNumberCodec.encodedLength(this.value));
+      this.binary = ByteBuffer.wrap(BigNumberCodec.encode(this.value));
+      this.text = this.value.toString().getBytes(StandardCharsets.US_ASCII);
+   
+   }
+
+   /**
+    *
+    * Prints the size of each encoding.
+    *
+    */
+   @TearDown(Level.Trial)
+   public void printSizes()
+   {
+   
+      System.out.println("binary " + this.binary.capacity() + " bytes, text " + this.text.length + " bytes");
+   
+   }
+
+   @Benchmark
+   public ByteBuffer encodeBinary()
+   {
+   
+      BigNumberCodec.encode(this.value, this.buffer.clear());
+   
+      return this.buffer;
+   
+   }
+
+   @Benchmark
+   public BigNumber decodeBinary()
+   {
+   
+      return BigNumberCodec.decode(this.binary.rewind());
+   
+   }
+
+   @Benchmark
+   public byte[] encodeText()
+   {
+   
+      return this.value.toString().getBytes(StandardCharsets.US_ASCII);
+   
+   }
+
+   @Benchmark
+   public BigNumber decodeText()
+   {
+   
+      return BigNumber.valueOf(new String(this.text, StandardCharsets.US_ASCII));
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * The constructors and conversions, over every operand size and form.
+ *
+ * toBigDecimalNaive is the hand rolled division that toBigDecimal(MathContext) replaces, kept as its baseline.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark
+{
+
+   @Benchmark
+   public BigNumber construct(Operands operands)
+   {
+   
+      return new BigNumber(operands.numerator, operands.denominator);
+   
+   }
+
+   @Benchmark
+   public BigNumber constructInteger(Operands operands)
+   {
+   
+      return new BigNumber(operands.numerator);
+   
+   }
+
+   @Benchmark
+   public BigNumber copy(Operands operands)
+   {
+   
+      return new BigNumber(operands.left);
+   
+   }
+
+   @Benchmark
+   public String toString(Operands operands)
+   {
+   
+      return operands.left.toString();
+   
+   }
+
+   @Benchmark
+   public double doubleValue(Operands operands)
+   {
+   
+      return operands.left.doubleValue();
+   
+   }
+
+   @Benchmark
+   public BigDecimal toBigDecimal(Operands operands)
+   {
+   
+      return operands.left.toBigDecimal(MathContext.DECIMAL128);
+   
+   }
+
+   @Benchmark
+   public BigDecimal toBigDecimalNaive(Operands operands)
+   {
+   
+      return new BigDecimal(operands.left.getNumerator()).divide(new BigDecimal(operands.left.getDenominator()), MathContext.DECIMAL128);
+   
+   }
+
+}
\ No newline at end of file
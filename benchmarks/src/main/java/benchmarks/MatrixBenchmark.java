@@ -0,0 +1,141 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import bignumber.BigNumberMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Square matrix products of small random fractions, with BigNumberMatrix and with a triple loop over BigNumber[][].
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixBenchmark
+{
+
+   /**
+    *
+    * The number of rows and columns.
+    *
+    */
+   @Param({"8", "32", "128"})
+   public int size;
+
+   /**
+    *
+    * The left hand matrix, as rows.
+    *
+    */
+   private BigNumber[][] left;
+
+   /**
+    *
+    * The right hand matrix, as rows.
+    *
+    */
+   private BigNumber[][] right;
+
+   /**
+    *
+    * The left hand matrix.
+    *
+    */
+   private BigNumberMatrix leftMatrix;
+
+   /**
+    *
+    * The right hand matrix.
+    *
+    */
+   private BigNumberMatrix rightMatrix;
+
+   /**
+    *
+    * Builds the matrices.
+    *
+    */
+   @Setup(Level.Trial)
+   public void setUp()
+   {
+   
+      final Random random = new Random(this.size);
+   
+      this.left = new BigNumber[this.size][this.size];
+      this.right = new BigNumber[this.size][this.size];
+   
+      for (int i = 0; i < this.size; i++)
+      {
+      
+         for (int j = 0; j < this.size; j++)
+         {
+         
+            this.left[i][j] = BigNumber.valueOf(random.nextInt(201) - 100, random.nextInt(100) + 1);
+            this.right[i][j] = BigNumber.valueOf(random.nextInt(201) - 100, random.nextInt(100) + 1);
+         
+         }
+      
+      }
+   
+      this.leftMatrix = new BigNumberMatrix(this.left);
+      this.rightMatrix = new BigNumberMatrix(this.right);
+   
+   }
+
+   @Benchmark
+   public BigNumberMatrix blocked()
+   {
+   
+      return this.leftMatrix.multiply(this.rightMatrix);
+   
+   }
+
+   @Benchmark
+   public BigNumber[][] naive()
+   {
+   
+      final BigNumber[][] product = new BigNumber[this.size][this.size];
+   
+      for (int i = 0; i < this.size; i++)
+      {
+      
+         for (int j = 0; j < this.size; j++)
+         {
+         
+            BigNumber sum = BigNumber.ZERO;
+         
+            for (int k = 0; k < this.size; k++)
+            {
+            
+               sum = sum.add(this.left[i][k].multiply(this.right[k][j]));
+            
+            }
+         
+            product[i][j] = sum;
+         
+         }
+      
+      }
+   
+      return product;
+   
+   }
+
+}
\ No newline at end of file
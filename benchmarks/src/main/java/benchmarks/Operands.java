@@ -0,0 +1,140 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import java.math.BigInteger;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *
+ * A pair of operands of a given size, shared by the operation benchmarks.
+ *
+ * REDUCED operands have unrelated numerators and denominators, so results come out close to lowest terms already.
+ * UNREDUCED operands are built around shared factors, so that every operation, and the constructor, has real gcd
+ * work to do: both denominators share one factor, and the numerator of the left shares another with the
+ * denominator of the right.
+ *
+ */
+@State(Scope.Benchmark)
+public class Operands
+{
+
+   /**
+    *
+    * Whether the operands share large factors.
+    *
+    */
+   public enum Form
+   {
+
+      REDUCED,
+      UNREDUCED
+
+   }
+
+   /**
+    *
+    * About how many bits each numerator and denominator has.
+    *
+    */
+   @Param({"64", "256", "4096", "65536"})
+   public int bits;
+
+   /**
+    *
+    * Whether the operands share large factors.
+    *
+    */
+   @Param({"REDUCED", "UNREDUCED"})
+   public Form form;
+
+   /**
+    *
+    * The left hand operand.
+    *
+    */
+   public BigNumber left;
+
+   /**
+    *
+    * The right hand operand.
+    *
+    */
+   public BigNumber right;
+
+   /**
+    *
+    * A numerator to pass to the constructor, which shares a large factor with denominator when UNREDUCED.
+    *
+    */
+   public BigInteger numerator;
+
+   /**
+    *
+    * A denominator to pass to the constructor.
+    *
+    */
+   public BigInteger denominator;
+
+   /**
+    *
+    * Builds the operands, the same ones for every run with the same parameters.
+    *
+    */
+   @Setup(Level.Trial)
+   public void setUp()
+   {
+   
+      final Random random = new Random(this.bits);
+   
+      if (this.form == Form.REDUCED)
+      {
+      
+         this.numerator = random(random, this.bits);
+         this.denominator = random(random, this.bits);
+      
+         final BigInteger gcd = this.numerator.gcd(this.denominator);
+      
+         this.numerator = this.numerator.divide(gcd);
+         this.denominator = this.denominator.divide(gcd);
+         this.left = new BigNumber(this.numerator, this.denominator);
+         this.right = new BigNumber(random(random, this.bits), random(random, this.bits));
+      
+      }
+   
+      else
+      {
+      
+         final BigInteger shared = random(random, this.bits / 4);
+         final BigInteger cross = random(random, this.bits / 4);
+      
+         this.numerator = random(random, this.bits / 2).multiply(shared);
+         this.denominator = random(random, this.bits / 2).multiply(shared);
+         this.left = new BigNumber(random(random, this.bits / 2).multiply(cross), random(random, this.bits / 2).multiply(shared));
+         this.right = new BigNumber(random(random, this.bits / 2), random(random, this.bits / 2).multiply(shared).multiply(cross));
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns a random positive value with exactly the given number of bits.
+    *
+    * @param random    the source of randomness
+    * @param bits      the number of bits
+    * @return          the value
+    *
+    */
+   static BigInteger random(Random random, int bits)
+   {
+   
+      return new BigInteger(bits, random).setBit(bits - 1);
+   
+   }
+
+}
\ No newline at end of file
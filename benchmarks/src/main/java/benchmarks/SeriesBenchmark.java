@@ -0,0 +1,93 @@
+package benchmarks;
+
+import bignumber.BigNumber;
+import bignumber.BigNumberSeries;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * The first terms of the series for exp(1 / 3), summed by binary splitting and one term at a time.
+ *
+ * The naive sums grow quadratically, so past 1000 terms they take a very long time. Leave them out with -p terms=....
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeriesBenchmark
+{
+
+   /**
+    *
+    * The term ratio of exp(1 / 3), 1 / (3 * k).
+    *
+    */
+   private static final BigNumberSeries.TermRatio EXP_ONE_THIRD = new BigNumberSeries.TermRatio()
+   {
+   
+      public BigInteger numerator(int k)
+      {
+      
+         return BigInteger.ONE;
+      
+      }
+   
+      public BigInteger denominator(int k)
+      {
+      
+         return BigInteger.valueOf(3L * k);
+      
+      }
+   
+   };
+
+   /**
+    *
+    * The number of terms to sum.
+    *
+    */
+   @Param({"1000", "10000", "100000"})
+   public int terms;
+
+   @Benchmark
+   public BigNumber binarySplitting()
+   {
+   
+      return BigNumberSeries.sum(BigNumber.ONE, EXP_ONE_THIRD, this.terms);
+   
+   }
+
+   @Benchmark
+   public BigNumber naive()
+   {
+   
+      BigNumber term = BigNumber.ONE;
+      BigNumber sum = BigNumber.ONE;
+   
+      for (int k = 1; k < this.terms; k++)
+      {
+      
+         term = term.divide(3L * k);
+         sum = sum.add(term);
+      
+      }
+   
+      return sum;
+   
+   }
+
+}
\ No newline at end of file
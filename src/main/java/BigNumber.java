@@ -1,17 +1,139 @@
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
 
 /** If you know BigInteger and BigDecimal, think of this as BigFraction. This class is immutable. */
-public final class BigNumber
+public final class BigNumber extends Number implements Comparable<BigNumber>
 {
 
+   /**
+    *
+    * Serialization version, required since Number is Serializable.
+    *
+    */
+   private static final long serialVersionUID = 1L;
+
+   /** The BigNumber 0. */
+   public static final BigNumber ZERO = new BigNumber(0, 1);
+
+   /** The BigNumber 1. */
+   public static final BigNumber ONE = new BigNumber(1, 1);
+
+   /** The BigNumber 2. */
+   public static final BigNumber TWO = new BigNumber(2, 1);
+
+   /** The BigNumber 10. */
+   public static final BigNumber TEN = new BigNumber(10, 1);
+
+   /** The BigNumber -1. */
+   public static final BigNumber MINUS_ONE = new BigNumber(-1, 1);
+
+   /** The BigNumber 1/2. */
+   public static final BigNumber ONE_HALF = new BigNumber(1, 2);
+
+   /** The BigNumber 1/3. */
+   public static final BigNumber ONE_THIRD = new BigNumber(1, 3);
+
+   /** The BigNumber 1/4. */
+   public static final BigNumber ONE_QUARTER = new BigNumber(1, 4);
+
+   /**
+    *
+    * 5, for checking whether a denominator is a power of 5.
+    *
+    */
+   private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+   /**
+    *
+    * log2(5), for estimating which power of 5 a number could be from its bit length.
+    *
+    */
+   private static final double LOG2_5 = Math.log(5) / Math.log(2);
+
+   /**
+    *
+    * log10(2), for estimating how many decimal digits a number has from its bit length.
+    *
+    */
+   private static final double LOG10_2 = Math.log10(2);
+
+   /**
+    *
+    * 10^0 through 10^18, every power of 10 that fits into a long.
+    *
+    */
+   private static final long[] LONG_POWERS_OF_TEN =
+      {
+         1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+         10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+         1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L,
+      };
+
+   /**
+    *
+    * How many decimal digits valueOf(String) gathers into a long before folding them into a BigInteger.
+    *
+    */
+   private static final int DIGITS_PER_CHUNK = 18;
+
+   /**
+    *
+    * 10^DIGITS_PER_CHUNK, for folding a full chunk of digits into a BigInteger.
+    *
+    */
+   private static final BigInteger CHUNK_SCALE = BigInteger.valueOf(LONG_POWERS_OF_TEN[DIGITS_PER_CHUNK]);
+
+   /**
+    *
+    * The largest power of ten, either way, that valueOf(String) accepts. 10^1000000 already takes over 400 KB, so
+    * anything past this is far more likely to be a mistake or an attack than a real value.
+    *
+    */
+   private static final int MAX_POWER_OF_TEN = 1_000_000;
+
+   /**
+    *
+    * The number of values below which {@link #sum(Collection)} and {@link #product(Collection)} stay on the
+    * current thread instead of forking. Defaults to 1024, and can be set with the BigNumber.parallelThreshold
+    * system property.
+    *
+    */
+   private static final int PARALLEL_THRESHOLD = Math.max(Integer.getInteger("BigNumber.parallelThreshold", 1024), 2);
+
+   /**
+    *
+    * The numerator, when the whole fraction fits into longs.
+    *
+    * Only meaningful while {@link #numerator} is null.
+    * Follows the same rules as {@link #numerator}, and is never Long.MIN_VALUE, so that negating it is always safe.
+    *
+    */
+   private final long smallNumerator;
+
+   /**
+    *
+    * The denominator, when the whole fraction fits into longs.
+    *
+    * Only meaningful while {@link #denominator} is null.
+    * Follows the same rules as {@link #denominator}.
+    *
+    */
+   private final long smallDenominator;
+
    /**
     *
     * The numerator.
     *
     * Can be any whole number.
     * Must always contain the negative symbol if the whole "BigNumber" is negative.
-    * Cannot be null;
+    * Is null exactly when both the numerator and denominator fit into {@link #smallNumerator} and {@link #smallDenominator}.
     *
     */
    private final BigInteger numerator;
@@ -22,11 +144,20 @@ public final class BigNumber
     *
     * Can be any whole number except for zero.
     * Must be strictly positive.
-    * Cannot be null.
+    * Is null exactly when {@link #numerator} is null.
     *
     */
    private final BigInteger denominator;
 
+   /**
+    *
+    * The cached hash code, or 0 if it has not been computed yet.
+    *
+    * Racing threads can at worst both compute the same value, just like String.
+    *
+    */
+   private transient int hash;
+
    /**
     *
     * Constructor.
@@ -37,7 +168,13 @@ public final class BigNumber
    public BigNumber(long param)
    {
    
-      this(BigInteger.valueOf(param), BigInteger.ONE);
+      //Long.MIN_VALUE cannot be negated as a long, so it is the one long that has to go into a BigInteger
+      final boolean small = param != Long.MIN_VALUE;
+   
+      this.smallNumerator = small ? param : 0;
+      this.smallDenominator = 1;
+      this.numerator = small ? null : BigInteger.valueOf(param);
+      this.denominator = small ? null : BigInteger.ONE;
    
    }
 
@@ -54,8 +191,12 @@ public final class BigNumber
    
       Objects.requireNonNull(param, "parameter cannot be null");
    
-      this.numerator = param;
-      this.denominator = BigInteger.ONE;
+      final boolean small = fitsInSmall(param);
+   
+      this.smallNumerator = small ? param.longValue() : 0;
+      this.smallDenominator = 1;
+      this.numerator = small ? null : param;
+      this.denominator = small ? null : BigInteger.ONE;
    
    }
 
@@ -63,6 +204,8 @@ public final class BigNumber
     *
     * Constructor.
     *
+    * The fraction is stored in lowest terms, so 2/4 and 1/2 give equal BigNumbers.
+    *
     * @param numerator        the numerator.
     * @param denominator      the denominator.
     * @throws NullPointerException        if numerator or denominator is null
@@ -72,296 +215,2381 @@ public final class BigNumber
    public BigNumber(BigInteger numerator, BigInteger denominator)
    {
    
-      Objects.requireNonNull(numerator, "numerator cannot be null");
-      Objects.requireNonNull(denominator, "denominator cannot be null");
+      Objects.requireNonNull(numerator, "numerator cannot be null");
+      Objects.requireNonNull(denominator, "denominator cannot be null");
+   
+      if (denominator.equals(BigInteger.ZERO))
+      {
+      
+         throw new IllegalArgumentException("denominator cannot be 0");
+      
+      }
+   
+      recordOperation(BigNumberMetrics.Operation.SIMPLIFY);
+   
+      //put the fraction into lowest terms, so that every value has exactly one representation
+      final BigInteger gcd = gcd(numerator, denominator);
+      final BigInteger reducedNumerator = gcd.equals(BigInteger.ONE) ? numerator : numerator.divide(gcd);
+      final BigInteger reducedDenominator = gcd.equals(BigInteger.ONE) ? denominator : denominator.divide(gcd);
+   
+      final BigInteger signedNumerator = isPositive(reducedDenominator) ? reducedNumerator : reducedNumerator.negate();
+      final BigInteger positiveDenominator = reducedDenominator.abs();
+      final boolean small = fitsInSmall(signedNumerator) && fitsInSmall(positiveDenominator);
+   
+      this.smallNumerator = small ? signedNumerator.longValue() : 0;
+      this.smallDenominator = small ? positiveDenominator.longValue() : 1;
+      this.numerator = small ? null : signedNumerator;
+      this.denominator = small ? null : positiveDenominator;
+   
+   }
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param param the new number.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumber(BigNumber param)
+   {
+   
+      this(Objects.requireNonNull(param, "BigNumber cannot be null").smallNumerator, param.smallDenominator, param.numerator, param.denominator);
+   
+   }
+
+   /**
+    *
+    * Constructor for values that are already known to fit into longs.
+    *
+    * Numerator cannot be Long.MIN_VALUE.
+    * Denominator must be strictly positive.
+    *
+    * @param numerator        the numerator.
+    * @param denominator      the denominator.
+    *
+    */
+   private BigNumber(long numerator, long denominator)
+   {
+   
+      this(numerator, denominator, null, null);
+   
+   }
+
+   /**
+    *
+    * Constructor that assigns every field as is. Callers are responsible for upholding the rules on each field.
+    *
+    * @param smallNumerator      the numerator, if the value fits into longs.
+    * @param smallDenominator    the denominator, if the value fits into longs.
+    * @param numerator           the numerator, or null if the value fits into longs.
+    * @param denominator         the denominator, or null if the value fits into longs.
+    *
+    */
+   private BigNumber(long smallNumerator, long smallDenominator, BigInteger numerator, BigInteger denominator)
+   {
+   
+      this.smallNumerator = smallNumerator;
+      this.smallDenominator = smallDenominator;
+      this.numerator = numerator;
+      this.denominator = denominator;
+   
+   }
+
+   /**
+    *
+    * Returns a BigNumber for a long, like {@link #BigNumber(long)}, but reusing a shared instance for small values.
+    *
+    * Values from -128 up to the cache limit are cached. The limit is 127 by default, and can be raised with the
+    * BigNumber.cache.high system property, the same way java.lang.Integer.IntegerCache.high works for Integer.
+    *
+    * @param value      the new number.
+    * @return           the BigNumber.
+    *
+    */
+   public static BigNumber valueOf(long value)
+   {
+   
+      if (value >= SmallValueCache.LOW && value <= SmallValueCache.HIGH)
+      {
+      
+         return SmallValueCache.INTEGERS[(int) value - SmallValueCache.LOW];
+      
+      }
+   
+      return new BigNumber(value);
+   
+   }
+
+   /**
+    *
+    * Returns a BigNumber for numerator / denominator, in lowest terms, reusing a shared instance for small integers
+    * and unit fractions. Unit fractions from 1/2 down to 1 over the cache limit of {@link #valueOf(long)} are cached.
+    *
+    * @param numerator        the numerator.
+    * @param denominator      the denominator.
+    * @return                 the BigNumber.
+    * @throws IllegalArgumentException    if denominator is 0
+    *
+    */
+   public static BigNumber valueOf(long numerator, long denominator)
+   {
+   
+      if (denominator == 0)
+      {
+      
+         throw new IllegalArgumentException("denominator cannot be 0");
+      
+      }
+   
+      //Long.MIN_VALUE has no long absolute value, so let it take the general path
+      if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)
+      {
+      
+         return new BigNumber(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+      
+      }
+   
+      final long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+      final long reducedNumerator = (denominator > 0 ? numerator : -numerator) / gcd;
+      final long reducedDenominator = Math.abs(denominator) / gcd;
+   
+      if (reducedDenominator == 1)
+      {
+      
+         return valueOf(reducedNumerator);
+      
+      }
+   
+      if (reducedNumerator == 1 && reducedDenominator <= SmallValueCache.HIGH)
+      {
+      
+         return SmallValueCache.UNIT_FRACTIONS[(int) reducedDenominator - 2];
+      
+      }
+   
+      return new BigNumber(reducedNumerator, reducedDenominator);
+   
+   }
+
+   /**
+    *
+    * Returns the exact value of a double. Every finite double is some integer times a power of 2, so this never rounds.
+    *
+    * @param value      the double.
+    * @return           the exact value.
+    * @throws IllegalArgumentException if value is NaN or infinite
+    *
+    */
+   public static BigNumber valueOf(double value)
+   {
+   
+      if (Double.isNaN(value) || Double.isInfinite(value))
+      {
+      
+         throw new IllegalArgumentException("value must be finite");
+      
+      }
+   
+      if (value == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      //value == mantissa * 2^exponent, read straight from the IEEE 754 bits
+      final long bits = Double.doubleToRawLongBits(value);
+      final int biasedExponent = (int) ((bits >>> 52) & 0x7FF);
+      final long fraction = bits & ((1L << 52) - 1);
+   
+      long mantissa = biasedExponent == 0 ? fraction : fraction | (1L << 52);
+      int exponent = (biasedExponent == 0 ? 1 : biasedExponent) - 1075;
+   
+      //an odd mantissa over a power of 2 is already in lowest terms
+      final int trailingZeros = Long.numberOfTrailingZeros(mantissa);
+   
+      mantissa >>= trailingZeros;
+      exponent += trailingZeros;
+   
+      final long signedMantissa = value < 0 ? -mantissa : mantissa;
+   
+      if (exponent >= 0)
+      {
+      
+         if (exponent < Long.numberOfLeadingZeros(mantissa))
+         {
+         
+            return new BigNumber(signedMantissa << exponent, 1);
+         
+         }
+      
+         return fromReduced(BigInteger.valueOf(signedMantissa).shiftLeft(exponent), BigInteger.ONE);
+      
+      }
+   
+      if (-exponent < Long.SIZE - 1)
+      {
+      
+         return new BigNumber(signedMantissa, 1L << -exponent);
+      
+      }
+   
+      return fromReduced(BigInteger.valueOf(signedMantissa), BigInteger.ONE.shiftLeft(-exponent));
+   
+   }
+
+   /**
+    *
+    * Parses a BigNumber from a String.
+    *
+    * Accepts integers ("-12"), decimals ("3.25"), scientific notation ("1.5e-3"), and fractions of any of those,
+    * with or without spaces around the slash ("1/3", "1 / 3", which is the format {@link #toString()} uses).
+    * The digits are read straight from the String, without creating substrings along the way.
+    *
+    * @param value      the String to parse.
+    * @return           the parsed value, in lowest terms.
+    * @throws NullPointerException     if value is null
+    * @throws NumberFormatException    if value is not in one of the formats above, has a denominator of 0, or works
+    *                                  out to a power of ten past 10^1000000 or 10^-1000000 on either side of the slash
+    *
+    */
+   public static BigNumber valueOf(String value)
+   {
+   
+      Objects.requireNonNull(value, "value cannot be null");
+   
+      final int slash = value.indexOf('/');
+   
+      if (slash < 0)
+      {
+      
+         return parseDecimal(value, 0, value.length());
+      
+      }
+   
+      int numeratorEnd = slash;
+      int denominatorStart = slash + 1;
+   
+      while (numeratorEnd > 0 && Character.isWhitespace(value.charAt(numeratorEnd - 1)))
+      {
+      
+         numeratorEnd--;
+      
+      }
+   
+      while (denominatorStart < value.length() && Character.isWhitespace(value.charAt(denominatorStart)))
+      {
+      
+         denominatorStart++;
+      
+      }
+   
+      final BigNumber numerator = parseDecimal(value, 0, numeratorEnd);
+      final BigNumber denominator = parseDecimal(value, denominatorStart, value.length());
+   
+      if (denominator.signum() == 0)
+      {
+      
+         throw new NumberFormatException("denominator cannot be 0: \"" + value + "\"");
+      
+      }
+   
+      return numerator.divide(denominator);
+   
+   }
+
+   /**
+    *
+    * Parses an integer, decimal or scientific notation number out of part of a String.
+    *
+    * Digits are gathered into a long, {@link #DIGITS_PER_CHUNK} at a time, and only folded into a BigInteger
+    * once there are too many for a long.
+    *
+    * @param value      the String to parse.
+    * @param start      the index of the first character of the number.
+    * @param end        the index after the last character of the number.
+    * @return           the parsed value, in lowest terms.
+    * @throws NumberFormatException if that part of value is not a number
+    *
+    */
+   private static BigNumber parseDecimal(String value, int start, int end)
+   {
+   
+      int index = start;
+      boolean negative = false;
+   
+      if (index < end && (value.charAt(index) == '+' || value.charAt(index) == '-'))
+      {
+      
+         negative = value.charAt(index) == '-';
+         index++;
+      
+      }
+   
+      BigInteger bigDigits = null;
+      long chunk = 0;
+      int chunkDigits = 0;
+      int digits = 0;
+      long fractionDigits = 0;
+      boolean point = false;
+   
+      for (; index < end; index++)
+      {
+      
+         final char c = value.charAt(index);
+      
+         if (c >= '0' && c <= '9')
+         {
+         
+            chunk = chunk * 10 + (c - '0');
+            chunkDigits++;
+            digits++;
+            fractionDigits += point ? 1 : 0;
+         
+            if (chunkDigits == DIGITS_PER_CHUNK)
+            {
+            
+               bigDigits = bigDigits == null ? BigInteger.valueOf(chunk) : bigDigits.multiply(CHUNK_SCALE).add(BigInteger.valueOf(chunk));
+               chunk = 0;
+               chunkDigits = 0;
+            
+            }
+         
+         }
+      
+         else if (c == '.' && !point)
+         {
+         
+            point = true;
+         
+         }
+      
+         else
+         {
+         
+            break;
+         
+         }
+      
+      }
+   
+      if (digits == 0)
+      {
+      
+         throw new NumberFormatException("invalid number: \"" + value + "\"");
+      
+      }
+   
+      long exponent = 0;
+   
+      if (index < end && (value.charAt(index) == 'e' || value.charAt(index) == 'E'))
+      {
+      
+         index++;
+      
+         boolean negativeExponent = false;
+      
+         if (index < end && (value.charAt(index) == '+' || value.charAt(index) == '-'))
+         {
+         
+            negativeExponent = value.charAt(index) == '-';
+            index++;
+         
+         }
+      
+         final int exponentStart = index;
+      
+         for (; index < end && value.charAt(index) >= '0' && value.charAt(index) <= '9'; index++)
+         {
+         
+            exponent = exponent * 10 + (value.charAt(index) - '0');
+         
+            //stop early, so that long enough strings of digits cannot overflow the long
+            if (exponent > Integer.MAX_VALUE)
+            {
+            
+               throw new NumberFormatException("exponent out of range: \"" + value + "\"");
+            
+            }
+         
+         }
+      
+         if (index == exponentStart)
+         {
+         
+            throw new NumberFormatException("invalid number: \"" + value + "\"");
+         
+         }
+      
+         exponent = negativeExponent ? -exponent : exponent;
+      
+      }
+   
+      if (index != end)
+      {
+      
+         throw new NumberFormatException("invalid number: \"" + value + "\"");
+      
+      }
+   
+      //value == digits * 10^powerOfTen
+      final long powerOfTen = exponent - fractionDigits;
+   
+      if (powerOfTen > MAX_POWER_OF_TEN || powerOfTen < -MAX_POWER_OF_TEN)
+      {
+      
+         throw new NumberFormatException("exponent out of range: \"" + value + "\"");
+      
+      }
+   
+      if (bigDigits == null)
+      {
+      
+         final long signedDigits = negative ? -chunk : chunk;
+      
+         if (powerOfTen >= 0 && powerOfTen < LONG_POWERS_OF_TEN.length)
+         {
+         
+            try
+            {
+            
+               return new BigNumber(Math.multiplyExact(signedDigits, LONG_POWERS_OF_TEN[(int) powerOfTen]));
+            
+            }
+         
+            catch (ArithmeticException overflow)
+            {
+            
+               //too big for longs, so fall back to BigInteger below
+            
+            }
+         
+         }
+      
+         else if (powerOfTen < 0 && -powerOfTen < LONG_POWERS_OF_TEN.length)
+         {
+         
+            final long denominator = LONG_POWERS_OF_TEN[(int) -powerOfTen];
+            final long gcd = gcd(chunk, denominator);
+         
+            return new BigNumber(signedDigits / gcd, denominator / gcd);
+         
+         }
+      
+         bigDigits = BigInteger.valueOf(chunk);
+      
+      }
+   
+      else if (chunkDigits > 0)
+      {
+      
+         bigDigits = bigDigits.multiply(BigInteger.valueOf(LONG_POWERS_OF_TEN[chunkDigits])).add(BigInteger.valueOf(chunk));
+      
+      }
+   
+      final BigInteger signedDigits = negative ? bigDigits.negate() : bigDigits;
+   
+      if (powerOfTen >= 0)
+      {
+      
+         return new BigNumber(signedDigits.multiply(BigInteger.TEN.pow((int) powerOfTen)));
+      
+      }
+   
+      return new BigNumber(signedDigits, BigInteger.TEN.pow((int) -powerOfTen));
+   
+   }
+
+   /**
+    *
+    * Returns the (signed) numerator.
+    *
+    * @return     the numerator.
+    *
+    */
+   public BigInteger getNumerator()
+   {
+   
+      return this.isSmall() ? BigInteger.valueOf(this.smallNumerator) : this.numerator;
+   
+   }
+
+   /**
+    *
+    * Returns the (unsigned) denominator.
+    *
+    * @return     the denominator.
+    *
+    */
+   public BigInteger getDenominator()
+   {
+   
+      return this.isSmall() ? BigInteger.valueOf(this.smallDenominator) : this.denominator;
+   
+   }
+
+   /**
+    *
+    * Returns an equivalent BigNumber, but with the sign changed from positive to negative, or vice versa.
+    *
+    * @return     a BigNumber that has had its sign flipped
+    *
+    */
+   public BigNumber negate()
+   {
+   
+      if (this.isSmall())
+      {
+      
+         return new BigNumber(-this.smallNumerator, this.smallDenominator);
+      
+      }
+   
+      return fromReduced(this.numerator.negate(), this.denominator);
+   
+   }
+
+   /**
+    *
+    * Returns true if positive.
+    *
+    * @return     the result
+    *
+    */
+   public boolean isPositive()
+   {
+   
+      return this.isSmall() ? this.smallNumerator > 0 : isPositive(this.numerator);
+   
+   }
+
+   /**
+    *
+    * Returns true if num is >0.
+    *
+    * @param num  the number we are checking the sign of
+    * @return     boolean result
+    *
+    */
+   private static boolean isPositive(BigInteger num)
+   {
+   
+      return num.signum() > 0;
+   
+   }
+
+   /**
+    *
+    * Returns true if this is 0.
+    *
+    * @return     boolean result
+    *
+    */
+   private boolean isZero()
+   {
+   
+      return this.isSmall() && this.smallNumerator == 0;
+   
+   }
+
+   /**
+    *
+    * Returns true if this is 1.
+    *
+    * @return     boolean result
+    *
+    */
+   private boolean isOne()
+   {
+   
+      return this.isSmall() && this.smallNumerator == 1 && this.smallDenominator == 1;
+   
+   }
+
+   /**
+    *
+    * Returns true if this value is held in {@link #smallNumerator} and {@link #smallDenominator}.
+    *
+    * @return     boolean result
+    *
+    */
+   boolean isSmall()
+   {
+   
+      return this.numerator == null;
+   
+   }
+
+   /**
+    *
+    * Getter for the numerator of a value that {@link #isSmall()}, which, unlike {@link #getNumerator()}, does not allocate.
+    *
+    * @return     the numerator, meaningless unless isSmall() is true
+    *
+    */
+   long getSmallNumerator()
+   {
+   
+      return this.smallNumerator;
+   
+   }
+
+   /**
+    *
+    * Getter for the denominator of a value that {@link #isSmall()}, which, unlike {@link #getDenominator()}, does not allocate.
+    *
+    * @return     the denominator, meaningless unless isSmall() is true
+    *
+    */
+   long getSmallDenominator()
+   {
+   
+      return this.smallDenominator;
+   
+   }
+
+   /**
+    *
+    * Returns true if num can be held in {@link #smallNumerator} or {@link #smallDenominator}.
+    *
+    * @param num  the number we are checking the size of
+    * @return     boolean result
+    *
+    */
+   private static boolean fitsInSmall(BigInteger num)
+   {
+   
+      return num.bitLength() < Long.SIZE && num.longValue() != Long.MIN_VALUE;
+   
+   }
+
+   /**
+    *
+    * Creates a BigNumber from a numerator and denominator that are already in lowest terms, picking the long
+    * backed representation whenever the values fit.
+    *
+    * Numerator cannot be null.
+    * Denominator cannot be null, and must be strictly positive.
+    *
+    * @param numerator     the numerator
+    * @param denominator   the denominator
+    * @return              the BigNumber
+    *
+    */
+   static BigNumber fromReduced(BigInteger numerator, BigInteger denominator)
+   {
+   
+      if (BigNumberMetrics.ENABLED)
+      {
+      
+         BigNumberMetrics.recordResult(numerator.bitLength(), denominator.bitLength());
+      
+      }
+   
+      if (fitsInSmall(numerator) && fitsInSmall(denominator))
+      {
+      
+         return new BigNumber(numerator.longValue(), denominator.longValue());
+      
+      }
+   
+      return new BigNumber(0, 1, numerator, denominator);
+   
+   }
+
+   /**
+    *
+    * Creates a BigNumber from a long numerator and denominator that are already in lowest terms. Unlike the
+    * long constructor, this accepts a numerator of Long.MIN_VALUE, which gets promoted to BigInteger.
+    *
+    * @param numerator     the numerator
+    * @param denominator   the denominator, which must be strictly positive
+    * @return              the BigNumber
+    *
+    */
+   private static BigNumber fromReduced(long numerator, long denominator)
+   {
+   
+      if (BigNumberMetrics.ENABLED)
+      {
+      
+         BigNumberMetrics.recordResult(Long.SIZE - Long.numberOfLeadingZeros(numerator < 0 ? ~numerator : numerator), Long.SIZE - Long.numberOfLeadingZeros(denominator));
+      
+      }
+   
+      if (numerator == Long.MIN_VALUE)
+      {
+      
+         return new BigNumber(0, 1, BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+      
+      }
+   
+      return new BigNumber(numerator, denominator);
+   
+   }
+
+   /**
+    *
+    * Method to simplify the numerator and denominator before creating a BigNumber from them.
+    *
+    * Numerator cannot be null.
+    * Denominator cannot be null.
+    * Denominator must be strictly positive.
+    *
+    * @param numerator     the numerator
+    * @param denominator   the denominator
+    * @return              the simplified BigNumber
+    *
+    */
+   static BigNumber simplify(BigInteger numerator, BigInteger denominator)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.SIMPLIFY);
+   
+      final BigNumberEvent event = BigNumberEvent.begin("simplify");
+      final var gcd = gcd(numerator, denominator);
+   
+      return BigNumberEvent.end(event, numerator, denominator, fromReduced(numerator.divide(gcd), denominator.divide(gcd)));
+   
+   }
+
+   /**
+    *
+    * Counts an operation in {@link BigNumberMetrics}. With metrics off, this compiles down to nothing.
+    *
+    * @param operation    the operation
+    *
+    */
+   private static void recordOperation(BigNumberMetrics.Operation operation)
+   {
+   
+      if (BigNumberMetrics.ENABLED)
+      {
+      
+         BigNumberMetrics.recordOperation(operation);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns the gcd of two BigIntegers, counting it in {@link BigNumberMetrics} when metrics are on.
+    *
+    * @param a     the first number
+    * @param b     the second number
+    * @return      the greatest common divisor
+    *
+    */
+   static BigInteger gcd(BigInteger a, BigInteger b)
+   {
+   
+      final BigInteger gcd = a.gcd(b);
+   
+      if (BigNumberMetrics.ENABLED)
+      {
+      
+         BigNumberMetrics.recordGcd(!gcd.equals(BigInteger.ONE));
+      
+      }
+   
+      return gcd;
+   
+   }
+
+   /**
+    *
+    * Returns the gcd of two non-negative longs, counting it in {@link BigNumberMetrics} when metrics are on.
+    *
+    * @param a     the first number, cannot be negative
+    * @param b     the second number, cannot be negative
+    * @return      the greatest common divisor, or the other number if one of them is 0
+    *
+    */
+   private static long gcd(long a, long b)
+   {
+   
+      final long gcd = binaryGcd(a, b);
+   
+      if (BigNumberMetrics.ENABLED)
+      {
+      
+         BigNumberMetrics.recordGcd(gcd != 1);
+      
+      }
+   
+      return gcd;
+   
+   }
+
+   /**
+    *
+    * Binary (Stein's) gcd of two non-negative longs. Uses only shifts and subtraction, which is much
+    * cheaper than repeated division.
+    *
+    * @param a     the first number, cannot be negative
+    * @param b     the second number, cannot be negative
+    * @return      the greatest common divisor, or the other number if one of them is 0
+    *
+    */
+   private static long binaryGcd(long a, long b)
+   {
+   
+      if (a == 0)
+      {
+      
+         return b;
+      
+      }
+   
+      if (b == 0)
+      {
+      
+         return a;
+      
+      }
+   
+      final int shift = Long.numberOfTrailingZeros(a | b);
+   
+      a >>= Long.numberOfTrailingZeros(a);
+   
+      do
+      {
+      
+         b >>= Long.numberOfTrailingZeros(b);
+      
+         if (a > b)
+         {
+         
+            final long temp = a;
+            a = b;
+            b = temp;
+         
+         }
+      
+         b -= a;
+      
+      }
+   
+      while (b != 0);
+   
+      return a << shift;
+   
+   }
+
+   /**
+    *
+    * Returns num mod divisor as a long.
+    *
+    * @param num        the number to divide, cannot be negative
+    * @param divisor    the number to divide by, must be strictly positive
+    * @return           the remainder
+    *
+    */
+   private static long remainder(BigInteger num, long divisor)
+   {
+   
+      return num.mod(BigInteger.valueOf(divisor)).longValue();
+   
+   }
+
+   /**
+    *
+    * Standard add function.
+    *
+    * @param param      the number to add.
+    * @return           The answer.
+    *
+    */
+   public BigNumber add(long param)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.ADD);
+   
+      if (param == 0)
+      {
+      
+         return this;
+      
+      }
+   
+      //n/d + k == (n + k*d)/d, and gcd(n + k*d, d) == gcd(n, d) == 1, so no simplify is needed
+      if (this.isSmall())
+      {
+      
+         try
+         {
+         
+            return fromReduced(Math.addExact(this.smallNumerator, Math.multiplyExact(param, this.smallDenominator)), this.smallDenominator);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigInteger denominator = this.getDenominator();
+   
+      return fromReduced(this.getNumerator().add(BigInteger.valueOf(param).multiply(denominator)), denominator);
+   
+   }
+
+   /**
+    *
+    * Standard add function.
+    *
+    * @param param      the number to add.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumber add(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.ADD);
+   
+      //BigNumber is immutable, so there is no need to make a new one when adding 0
+      if (param.isZero())
+      {
+      
+         return this;
+      
+      }
+   
+      if (this.isZero())
+      {
+      
+         return param;
+      
+      }
+   
+      if (this.isSmall() && param.isSmall())
+      {
+      
+         try
+         {
+         
+            return addReduced(this.smallNumerator, this.smallDenominator, param.smallNumerator, param.smallDenominator);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigNumberEvent event = BigNumberEvent.begin("add");
+   
+      return BigNumberEvent.end(event, this, param, addReduced(this.getNumerator(), this.getDenominator(), param.getNumerator(), param.getDenominator()));
+   
+   }
+
+   /**
+    *
+    * Adds two fractions that are already in lowest terms, returning the sum in lowest terms.
+    *
+    * Rather than cross multiplying and running a gcd over the full, double width result, this follows
+    * Henrici's method (Knuth, TAOCP vol. 2, 4.5.1). The gcd of the denominators is taken first, and the
+    * second gcd only has to run against that (usually tiny) value instead of the whole product.
+    *
+    * @param numerator1     the numerator of the left operand
+    * @param denominator1   the strictly positive denominator of the left operand
+    * @param numerator2     the numerator of the right operand
+    * @param denominator2   the strictly positive denominator of the right operand
+    * @return               the simplified sum
+    *
+    */
+   private static BigNumber addReduced(BigInteger numerator1, BigInteger denominator1, BigInteger numerator2, BigInteger denominator2)
+   {
+   
+      //adding an integer can never introduce a common factor, since gcd(a + c*b, b) == gcd(a, b) == 1
+      if (denominator2.equals(BigInteger.ONE))
+      {
+      
+         return fromReduced(numerator1.add(numerator2.multiply(denominator1)), denominator1);
+      
+      }
+   
+      if (denominator1.equals(BigInteger.ONE))
+      {
+      
+         return fromReduced(numerator2.add(numerator1.multiply(denominator2)), denominator2);
+      
+      }
+   
+      final BigInteger gcd = gcd(denominator1, denominator2);
+   
+      //coprime denominators mean that (a*d + b*c) / (b*d) is already in lowest terms
+      if (gcd.equals(BigInteger.ONE))
+      {
+      
+         final BigInteger resultNumerator = numerator1.multiply(denominator2).add(numerator2.multiply(denominator1));
+      
+         return fromReduced(resultNumerator, denominator1.multiply(denominator2));
+      
+      }
+   
+      final BigInteger scale1 = denominator1.divide(gcd);
+      final BigInteger scale2 = denominator2.divide(gcd);
+      final BigInteger resultNumerator = numerator1.multiply(scale2).add(numerator2.multiply(scale1));
+   
+      if (resultNumerator.signum() == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      //any common factor left over has to divide the gcd of the denominators, so that is all we need to check against
+      final BigInteger gcd2 = gcd(resultNumerator, gcd);
+   
+      return fromReduced(resultNumerator.divide(gcd2), scale1.multiply(denominator2.divide(gcd2)));
+   
+   }
+
+   /**
+    *
+    * The long version of {@link #addReduced(BigInteger, BigInteger, BigInteger, BigInteger)}.
+    *
+    * Numerators cannot be Long.MIN_VALUE.
+    *
+    * @param numerator1     the numerator of the left operand
+    * @param denominator1   the strictly positive denominator of the left operand
+    * @param numerator2     the numerator of the right operand
+    * @param denominator2   the strictly positive denominator of the right operand
+    * @return               the simplified sum
+    * @throws ArithmeticException if any intermediate value overflows a long
+    *
+    */
+   private static BigNumber addReduced(long numerator1, long denominator1, long numerator2, long denominator2)
+   {
+   
+      if (denominator2 == 1)
+      {
+      
+         return fromReduced(Math.addExact(numerator1, Math.multiplyExact(numerator2, denominator1)), denominator1);
+      
+      }
+   
+      if (denominator1 == 1)
+      {
+      
+         return fromReduced(Math.addExact(numerator2, Math.multiplyExact(numerator1, denominator2)), denominator2);
+      
+      }
+   
+      final long gcd = gcd(denominator1, denominator2);
+   
+      if (gcd == 1)
+      {
+      
+         final long resultNumerator = Math.addExact(Math.multiplyExact(numerator1, denominator2), Math.multiplyExact(numerator2, denominator1));
+      
+         return fromReduced(resultNumerator, Math.multiplyExact(denominator1, denominator2));
+      
+      }
+   
+      final long scale1 = denominator1 / gcd;
+      final long scale2 = denominator2 / gcd;
+      final long resultNumerator = Math.addExact(Math.multiplyExact(numerator1, scale2), Math.multiplyExact(numerator2, scale1));
+   
+      if (resultNumerator == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      final long gcd2 = gcd(Math.absExact(resultNumerator), gcd);
+   
+      return fromReduced(resultNumerator / gcd2, Math.multiplyExact(scale1, denominator2 / gcd2));
+   
+   }
+
+   /**
+    *
+    * Standard subtract function.
+    *
+    * @param param      the number to subtract from this.
+    * @return           The answer.
+    *
+    */
+   public BigNumber subtract(long param)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.SUBTRACT);
+   
+      if (param == 0)
+      {
+      
+         return this;
+      
+      }
+   
+      //same as add(long), n/d - k == (n - k*d)/d is already in lowest terms
+      if (this.isSmall())
+      {
+      
+         try
+         {
+         
+            return fromReduced(Math.subtractExact(this.smallNumerator, Math.multiplyExact(param, this.smallDenominator)), this.smallDenominator);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigInteger denominator = this.getDenominator();
+   
+      return fromReduced(this.getNumerator().subtract(BigInteger.valueOf(param).multiply(denominator)), denominator);
+   
+   }
+
+   /**
+    *
+    * Standard subtract function.
+    *
+    * @param param      the number to subtract from this.
+    * @return           The answer.
+    *
+    */
+   public BigNumber subtract(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "BigNumber cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.SUBTRACT);
+   
+      if (param.isZero())
+      {
+      
+         return this;
+      
+      }
+   
+      if (this.isSmall() && param.isSmall())
+      {
+      
+         try
+         {
+         
+            return addReduced(this.smallNumerator, this.smallDenominator, -param.smallNumerator, param.smallDenominator);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      return addReduced(this.getNumerator(), this.getDenominator(), param.getNumerator().negate(), param.getDenominator());
+   
+   }
+
+   /**
+    *
+    * Standard multiply function.
+    *
+    * @param param      the number to multiply.
+    * @return           The answer.
+    *
+    */
+   public BigNumber multiply(long param)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.MULTIPLY);
+   
+      if (param == 1)
+      {
+      
+         return this;
+      
+      }
+   
+      if (param == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      //Long.MIN_VALUE has no long absolute value, so let it take the general path
+      if (param == Long.MIN_VALUE)
+      {
+      
+         return this.multiply(new BigNumber(param));
+      
+      }
+   
+      if (this.isSmall())
+      {
+      
+         try
+         {
+         
+            return multiplyReduced(this.smallNumerator, this.smallDenominator, param, 1);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      //the only thing that can cancel is gcd(k, d), which fits in a long, since it divides k
+      final BigInteger denominator = this.getDenominator();
+      final long gcd = gcd(Math.abs(param), remainder(denominator, Math.abs(param)));
+      final BigInteger resultDenominator = gcd == 1 ? denominator : denominator.divide(BigInteger.valueOf(gcd));
+   
+      return fromReduced(this.getNumerator().multiply(BigInteger.valueOf(param / gcd)), resultDenominator);
+   
+   }
+
+   /**
+    *
+    * Standard multiply function.
+    *
+    * @param param      the number to multiply.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumber multiply(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.MULTIPLY);
+   
+      //BigNumber is immutable, so there is no need to make a new one when multiplying by 0 or 1
+      if (param.isOne() || this.isZero())
+      {
+      
+         return this;
+      
+      }
+   
+      if (this.isOne() || param.isZero())
+      {
+      
+         return param;
+      
+      }
+   
+      if (this.isSmall() && param.isSmall())
+      {
+      
+         try
+         {
+         
+            return multiplyReduced(this.smallNumerator, this.smallDenominator, param.smallNumerator, param.smallDenominator);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigNumberEvent event = BigNumberEvent.begin("multiply");
+   
+      return BigNumberEvent.end(event, this, param, multiplyReduced(this.getNumerator(), this.getDenominator(), param.getNumerator(), param.getDenominator()));
+   
+   }
+
+   /**
+    *
+    * Multiplies two fractions that are already in lowest terms, returning the product in lowest terms.
+    *
+    * Any common factor of the product has to come from one numerator and the opposite denominator. So
+    * we cancel gcd(n1, d2) and gcd(n2, d1) before multiplying, which keeps both gcds on single width
+    * operands and means the product never needs simplifying afterwards.
+    *
+    * @param numerator1     the numerator of the left operand
+    * @param denominator1   the strictly positive denominator of the left operand
+    * @param numerator2     the numerator of the right operand
+    * @param denominator2   the strictly positive denominator of the right operand
+    * @return               the simplified product
+    *
+    */
+   private static BigNumber multiplyReduced(BigInteger numerator1, BigInteger denominator1, BigInteger numerator2, BigInteger denominator2)
+   {
+   
+      if (numerator1.signum() == 0 || numerator2.signum() == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      final boolean integer1 = denominator1.equals(BigInteger.ONE);
+      final boolean integer2 = denominator2.equals(BigInteger.ONE);
+   
+      if (integer1 && integer2)
+      {
+      
+         return fromReduced(numerator1.multiply(numerator2), BigInteger.ONE);
+      
+      }
+   
+      final BigInteger gcd1 = integer2 ? BigInteger.ONE : gcd(numerator1, denominator2);
+      final BigInteger gcd2 = integer1 ? BigInteger.ONE : gcd(numerator2, denominator1);
+   
+      final BigInteger resultNumerator = numerator1.divide(gcd1).multiply(numerator2.divide(gcd2));
+      final BigInteger resultDenominator = denominator1.divide(gcd2).multiply(denominator2.divide(gcd1));
+   
+      return fromReduced(resultNumerator, resultDenominator);
+   
+   }
+
+   /**
+    *
+    * The long version of {@link #multiplyReduced(BigInteger, BigInteger, BigInteger, BigInteger)}.
+    *
+    * Numerators cannot be Long.MIN_VALUE.
+    *
+    * @param numerator1     the numerator of the left operand
+    * @param denominator1   the strictly positive denominator of the left operand
+    * @param numerator2     the numerator of the right operand
+    * @param denominator2   the strictly positive denominator of the right operand
+    * @return               the simplified product
+    * @throws ArithmeticException if any intermediate value overflows a long
+    *
+    */
+   private static BigNumber multiplyReduced(long numerator1, long denominator1, long numerator2, long denominator2)
+   {
+   
+      if (numerator1 == 0 || numerator2 == 0)
+      {
+      
+         return ZERO;
+      
+      }
+   
+      final long gcd1 = denominator2 == 1 ? 1 : gcd(Math.abs(numerator1), denominator2);
+      final long gcd2 = denominator1 == 1 ? 1 : gcd(Math.abs(numerator2), denominator1);
+   
+      final long resultNumerator = Math.multiplyExact(numerator1 / gcd1, numerator2 / gcd2);
+      final long resultDenominator = Math.multiplyExact(denominator1 / gcd2, denominator2 / gcd1);
+   
+      return fromReduced(resultNumerator, resultDenominator);
+   
+   }
+
+   /**
+    *
+    * Fused multiply add, returns this * multiplicand + addend, simplifying only once.
+    *
+    * @param multiplicand     the number to multiply this by.
+    * @param addend           the number to add to the product.
+    * @return                 The answer.
+    * @throws NullPointerException if either parameter is null
+    *
+    */
+   public BigNumber fma(BigNumber multiplicand, BigNumber addend)
+   {
+   
+      Objects.requireNonNull(multiplicand, "multiplicand cannot be null");
+      Objects.requireNonNull(addend, "addend cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.FMA);
+   
+      //gcds on longs are cheap, and multiply and add on longs do not allocate, so two steps are faster here. They go
+      //straight to the helpers, rather than multiply and add, so that metrics count one FMA and nothing else
+      if (this.isSmall() && multiplicand.isSmall() && addend.isSmall())
+      {
+      
+         try
+         {
+         
+            final BigNumber product = multiplyReduced(this.smallNumerator, this.smallDenominator, multiplicand.smallNumerator, multiplicand.smallDenominator);
+         
+            if (product.isSmall())
+            {
+            
+               return addReduced(product.smallNumerator, product.smallDenominator, addend.smallNumerator, addend.smallDenominator);
+            
+            }
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigInteger[] product = {this.getNumerator().multiply(multiplicand.getNumerator()), this.getDenominator().multiply(multiplicand.getDenominator())};
+      final BigInteger[] result = addOverLcm(product, addend.getNumerator(), addend.getDenominator());
+   
+      return simplify(result[0], result[1]);
+   
+   }
+
+   /**
+    *
+    * Returns the dot product x[0] * y[0] + x[1] * y[1] + ... , simplifying only once.
+    *
+    * The terms are added over the lcm of their denominators, so the common denominator only grows by the factors
+    * it does not have yet, and the numerator is only simplified at the end, instead of twice per term.
+    *
+    * @param x    the first vector.
+    * @param y    the second vector.
+    * @return     the dot product, or 0 if the vectors are empty.
+    * @throws NullPointerException        if either vector is null or contains null
+    * @throws IllegalArgumentException    if the vectors have different lengths
+    *
+    */
+   public static BigNumber dot(BigNumber[] x, BigNumber[] y)
+   {
+   
+      Objects.requireNonNull(x, "x cannot be null");
+      Objects.requireNonNull(y, "y cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.DOT);
+   
+      if (x.length != y.length)
+      {
+      
+         throw new IllegalArgumentException("x and y must have the same length");
+      
+      }
+   
+      BigInteger[] result = {BigInteger.ZERO, BigInteger.ONE};
+   
+      for (int i = 0; i < x.length; i++)
+      {
+      
+         final BigNumber left = Objects.requireNonNull(x[i], "x cannot contain null");
+         final BigNumber right = Objects.requireNonNull(y[i], "y cannot contain null");
+      
+         if (left.isZero() || right.isZero())
+         {
+         
+            continue;
+         
+         }
+      
+         final BigInteger termNumerator = left.getNumerator().multiply(right.getNumerator());
+         final BigInteger termDenominator = left.getDenominator().multiply(right.getDenominator());
+      
+         result = addOverLcm(result, termNumerator, termDenominator);
+      
+      }
+   
+      return simplify(result[0], result[1]);
+   
+   }
+
+   /**
+    *
+    * Adds a fraction onto an unsimplified running total, over the lcm of the two denominators.
+    *
+    * @param total             the running total, as {numerator, strictly positive denominator}
+    * @param addNumerator      the numerator to add
+    * @param addDenominator    the strictly positive denominator to add
+    * @return                  the new total, as {numerator, denominator}, not simplified
+    *
+    */
+   private static BigInteger[] addOverLcm(BigInteger[] total, BigInteger addNumerator, BigInteger addDenominator)
+   {
+   
+      final BigInteger numerator = total[0];
+      final BigInteger denominator = total[1];
+   
+      if (addDenominator.equals(BigInteger.ONE))
+      {
+      
+         return new BigInteger[] {numerator.add(addNumerator.multiply(denominator)), denominator};
+      
+      }
+   
+      final BigInteger gcd = gcd(denominator, addDenominator);
+   
+      //lcm == denominator * (addDenominator / gcd) == addDenominator * (denominator / gcd)
+      final BigInteger scale = addDenominator.divide(gcd);
+      final BigInteger addScale = denominator.divide(gcd);
+   
+      return new BigInteger[] {numerator.multiply(scale).add(addNumerator.multiply(addScale)), denominator.multiply(scale)};
+   
+   }
+
+   /**
+    *
+    * Standard divide function.
+    *
+    * @param param      the number to divide this by.
+    * @return           The answer.
+    * @throws IllegalArgumentException if param == 0
+    *
+    */
+   public BigNumber divide(long param)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.DIVIDE);
+   
+      if (param == 0) {
+         throw new IllegalArgumentException("param cannot be 0"); }
+   
+      if (param == 1)
+      {
+      
+         return this;
+      
+      }
+   
+      if (param == Long.MIN_VALUE)
+      {
+      
+         return this.divide(new BigNumber(param));
+      
+      }
+   
+      //keep the sign on the numerator so the denominator stays positive
+      final long sign = param > 0 ? 1 : -1;
+      final long absParam = Math.abs(param);
+   
+      if (this.isSmall())
+      {
+      
+         try
+         {
+         
+            return multiplyReduced(this.smallNumerator, this.smallDenominator, sign, absParam);
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      //the only thing that can cancel is gcd(n, k), which fits in a long, since it divides k
+      final BigInteger numerator = this.getNumerator();
+      final long gcd = gcd(absParam, remainder(numerator.abs(), absParam));
+      final BigInteger resultNumerator = gcd == 1 ? numerator : numerator.divide(BigInteger.valueOf(gcd));
+      final BigInteger resultDenominator = this.getDenominator().multiply(BigInteger.valueOf(absParam / gcd));
+   
+      return fromReduced(sign > 0 ? resultNumerator : resultNumerator.negate(), resultDenominator);
+   
+   }
+
+   /**
+    *
+    * Standard divide function.
+    *
+    * @param param      the number to divide this by.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    * @throws IllegalArgumentException if param == 0
+    *
+    */
+   public BigNumber divide(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      recordOperation(BigNumberMetrics.Operation.DIVIDE);
+   
+      if (param.signum() == 0) {
+         throw new IllegalArgumentException("param cannot be 0"); }
+   
+      if (param.isOne())
+      {
+      
+         return this;
+      
+      }
+   
+      //multiply by the reciprocal, keeping the sign on the numerator so the denominator stays positive
+      if (this.isSmall() && param.isSmall())
+      {
+      
+         try
+         {
+         
+            final long reciprocalNumerator = param.smallNumerator > 0 ? param.smallDenominator : -param.smallDenominator;
+         
+            return multiplyReduced(this.smallNumerator, this.smallDenominator, reciprocalNumerator, Math.abs(param.smallNumerator));
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigInteger paramNumerator = param.getNumerator();
+      final BigInteger reciprocalNumerator = isPositive(paramNumerator) ? param.getDenominator() : param.getDenominator().negate();
+   
+      final BigNumberEvent event = BigNumberEvent.begin("divide");
+   
+      return BigNumberEvent.end(event, this, param, multiplyReduced(this.getNumerator(), this.getDenominator(), reciprocalNumerator, paramNumerator.abs()));
+   
+   }
+
+   /**
+    *
+    * Raises this to a power. A negative exponent raises the reciprocal instead.
+    *
+    * A fraction in lowest terms stays in lowest terms when raised to a power, so the numerator and denominator
+    * are raised separately, with no gcd at all.
+    *
+    * @param exponent   the power to raise this to.
+    * @return           The answer. Same as BigInteger.pow, 0 to the power of 0 is 1.
+    * @throws IllegalArgumentException if this is 0 and exponent is negative
+    *
+    */
+   public BigNumber pow(int exponent)
+   {
+   
+      recordOperation(BigNumberMetrics.Operation.POW);
+   
+      if (exponent == 0)
+      {
+      
+         return ONE;
+      
+      }
+   
+      if (exponent < 0 && this.isZero()) {
+         throw new IllegalArgumentException("cannot raise 0 to a negative power"); }
+   
+      if (exponent == 1 || this.isZero() || this.isOne())
+      {
+      
+         return this;
+      
+      }
+   
+      //-Integer.MIN_VALUE does not fit in an int, so peel off one factor first
+      if (exponent == Integer.MIN_VALUE)
+      {
+      
+         return this.pow(exponent + 1).divide(this);
+      
+      }
+   
+      final boolean reciprocal = exponent < 0;
+      final int absExponent = Math.abs(exponent);
+   
+      if (this.isSmall())
+      {
+      
+         try
+         {
+         
+            final long base = reciprocal ? Long.signum(this.smallNumerator) * this.smallDenominator : this.smallNumerator;
+            final long baseDenominator = reciprocal ? Math.abs(this.smallNumerator) : this.smallDenominator;
+         
+            return fromReduced(pow(base, absExponent), pow(baseDenominator, absExponent));
+         
+         }
+      
+         catch (ArithmeticException overflow)
+         {
+         
+            //too big for longs, so fall back to BigInteger below
+         
+         }
+      
+      }
+   
+      final BigInteger numerator = this.getNumerator();
+      final BigInteger denominator = this.getDenominator();
+      final BigInteger base = reciprocal ? (isPositive(numerator) ? denominator : denominator.negate()) : numerator;
+      final BigInteger baseDenominator = reciprocal ? numerator.abs() : denominator;
+   
+      return fromReduced(base.pow(absExponent), baseDenominator.pow(absExponent));
+   
+   }
+
+   /**
+    *
+    * Raises a long to a power, by repeated squaring.
+    *
+    * @param base       the number to raise
+    * @param exponent   the power to raise it to, cannot be negative
+    * @return           the answer
+    * @throws ArithmeticException if the answer overflows a long
+    *
+    */
+   private static long pow(long base, int exponent)
+   {
+   
+      long result = 1;
+   
+      while (true)
+      {
+      
+         if ((exponent & 1) != 0)
+         {
+         
+            result = Math.multiplyExact(result, base);
+         
+         }
+      
+         exponent >>>= 1;
+      
+         if (exponent == 0)
+         {
+         
+            return result;
+         
+         }
+      
+         base = Math.multiplyExact(base, base);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Adds up a collection of BigNumbers.
+    *
+    * Folding left to right makes one operand keep growing while the other stays small. Instead, this adds
+    * neighbouring pairs as a balanced binary tree, so both sides of each add are about the same size. Large
+    * collections are split across the common ForkJoinPool.
+    *
+    * @param values     the numbers to add.
+    * @return           the sum, or 0 if values is empty.
+    * @throws NullPointerException if values is null or contains null
+    *
+    */
+   public static BigNumber sum(Collection<BigNumber> values)
+   {
+   
+      return reduce(values, ZERO, BigNumber::add);
+   
+   }
+
+   /**
+    *
+    * Multiplies together a collection of BigNumbers, as a balanced binary tree, the same way as {@link #sum(Collection)}.
+    *
+    * @param values     the numbers to multiply.
+    * @return           the product, or 1 if values is empty.
+    * @throws NullPointerException if values is null or contains null
+    *
+    */
+   public static BigNumber product(Collection<BigNumber> values)
+   {
+   
+      return reduce(values, ONE, BigNumber::multiply);
+   
+   }
+
+   /**
+    *
+    * Combines a collection of BigNumbers as a balanced binary tree.
+    *
+    * @param values        the numbers to combine
+    * @param identity      the result for an empty collection
+    * @param operator      the associative operation to combine them with
+    * @return              the combined result
+    *
+    */
+   private static BigNumber reduce(Collection<BigNumber> values, BigNumber identity, BinaryOperator<BigNumber> operator)
+   {
+   
+      Objects.requireNonNull(values, "values cannot be null");
+   
+      final BigNumber[] array = values.toArray(new BigNumber[0]);
    
-      if (denominator.equals(BigInteger.ZERO))
+      for (BigNumber value : array)
       {
       
-         throw new IllegalArgumentException("denominator cannot be 0");
+         Objects.requireNonNull(value, "values cannot contain null");
+      
+      }
+   
+      if (array.length == 0)
+      {
+      
+         return identity;
+      
+      }
+   
+      if (array.length < PARALLEL_THRESHOLD)
+      {
+      
+         return reduce(array, 0, array.length, operator);
       
       }
    
-      this.numerator = isPositive(denominator) ? numerator : numerator.negate();
-      this.denominator = denominator.abs();
+      return ForkJoinPool.commonPool().invoke(new TreeReduction(array, 0, array.length, operator));
    
    }
 
    /**
     *
-    * Constructor.
+    * Combines the range [from, to) of an array as a balanced binary tree, on the current thread.
     *
-    * @param param the new number.
-    * @throws NullPointerException if parameter is null
+    * @param values     the numbers to combine
+    * @param from       the first index of the range
+    * @param to         the index after the last one in the range, must be greater than from
+    * @param operator   the associative operation to combine them with
+    * @return           the combined result
     *
     */
-   public BigNumber(BigNumber param)
+   private static BigNumber reduce(BigNumber[] values, int from, int to, BinaryOperator<BigNumber> operator)
    {
    
-      this(Objects.requireNonNull(param, "BigNumber cannot be null").numerator, param.denominator);
+      if (to - from == 1)
+      {
+      
+         return values[from];
+      
+      }
+   
+      final int middle = (from + to) >>> 1;
+   
+      return operator.apply(reduce(values, from, middle, operator), reduce(values, middle, to, operator));
    
    }
 
    /**
     *
-    * Returns the (signed) numerator.
+    * Returns the bit length of the absolute value of the numerator, without creating a BigInteger.
     *
-    * @return     the numerator.
+    * For a BigInteger numerator that is a negative power of 2 this is one less, same as BigInteger.bitLength.
+    * That still keeps 2^(bitLength - 1) <= |numerator| <= 2^bitLength, which is all compareTo needs.
+    *
+    * @return     the bit length
     *
     */
-   public BigInteger getNumerator()
+   private int numeratorBitLength()
    {
    
-      return this.numerator;
+      return this.isSmall() ? Long.SIZE - Long.numberOfLeadingZeros(Math.abs(this.smallNumerator)) : this.numerator.bitLength();
    
    }
 
    /**
     *
-    * Returns the (unsigned) denominator.
+    * Returns the bit length of the denominator, without creating a BigInteger.
     *
-    * @return     the denominator.
+    * @return     the bit length
     *
     */
-   public BigInteger getDenominator()
+   private int denominatorBitLength()
    {
    
-      return this.denominator;
+      return this.isSmall() ? Long.SIZE - Long.numberOfLeadingZeros(this.smallDenominator) : this.denominator.bitLength();
    
    }
 
    /**
     *
-    * Returns an equivalent BigNumber, but with the sign changed from positive to negative, or vice versa.
+    * Returns -1, 0 or 1 as this is negative, zero or positive.
     *
-    * @return     a BigNumber that has had its sign flipped
+    * @return     the sign of this
     *
     */
-   public BigNumber negate()
+   private int signum()
    {
    
-      return new BigNumber(this.numerator.negate(), this.denominator);
+      return this.isSmall() ? Long.signum(this.smallNumerator) : this.numerator.signum();
    
    }
 
    /**
     *
-    * Returns true if positive.
+    * Returns the value as an int, truncating any fractional part. Like BigInteger.intValue, only the low
+    * order 32 bits are kept if the value is too big for an int.
     *
-    * @return     the result
+    * @return     the value as an int
     *
     */
-   public boolean isPositive()
+   public int intValue()
    {
    
-      return isPositive(this.numerator);
+      return (int) this.longValue();
    
    }
 
    /**
     *
-    * Returns true if num is >0.
+    * Returns the value as a long, truncating any fractional part. Like BigInteger.longValue, only the low
+    * order 64 bits are kept if the value is too big for a long.
     *
-    * @param num  the number we are checking the sign of
-    * @return     boolean result
+    * @return     the value as a long
     *
     */
-   private static boolean isPositive(BigInteger num)
+   public long longValue()
    {
    
-      return num.signum() > 0;
+      return this.isSmall() ? this.smallNumerator / this.smallDenominator : this.numerator.divide(this.denominator).longValue();
    
    }
 
    /**
     *
-    * Method to simplify the numerator and denominator before creating a BigNumber from them.
+    * Returns the value as a BigDecimal, rounded according to mc.
     *
-    * Numerator cannot be null.
-    * Denominator cannot be null.
-    * Denominator cannot be 0.
+    * If the denominator only has factors of 2 and 5, the decimal expansion terminates, and the exact value is
+    * rounded. Otherwise, we do a single division with just enough digits to round correctly.
     *
-    * @param numerator     the numerator
-    * @param denominator   the denominator
-    * @return              the simplified BigNumber
+    * @param mc   the precision and rounding mode to use. A precision of 0 means the result must be exact.
+    * @return     the value as a BigDecimal
+    * @throws NullPointerException if mc is null
+    * @throws ArithmeticException  if the result needs rounding but mc uses RoundingMode.UNNECESSARY, or has a precision of 0
     *
     */
-   private static BigNumber simplify(BigInteger numerator, BigInteger denominator)
+   public BigDecimal toBigDecimal(MathContext mc)
    {
    
-      final var gcd = numerator.gcd(denominator);
+      Objects.requireNonNull(mc, "mc cannot be null");
    
-      return new BigNumber(numerator.divide(gcd), denominator.divide(gcd));
+      final BigDecimal exact = this.toTerminatingBigDecimal();
+   
+      if (exact != null)
+      {
+      
+         return exact.round(mc);
+      
+      }
+   
+      if (mc.getPrecision() == 0)
+      {
+      
+         throw new ArithmeticException("Non-terminating decimal expansion; no exact representable decimal result.");
+      
+      }
+   
+      //pick a power of 10 that leaves the quotient at least 1 digit longer than the precision, using
+      //|value| > 2^(bitLength(numerator) - bitLength(denominator) - 1) as a lower bound on the size
+      final int exponent = this.numeratorBitLength() - this.denominatorBitLength();
+      final int powerOfTen = mc.getPrecision() + 1 - (int) Math.floor((exponent - 1) * LOG10_2);
+   
+      return this.divideWithStickyDigit(powerOfTen).round(mc);
    
    }
 
    /**
     *
-    * Standard add function.
+    * Returns the value as a BigDecimal with the given scale, rounding if needed.
     *
-    * @param param      the number to add.
-    * @return           The answer.
+    * @param scale           the scale of the result.
+    * @param roundingMode    the rounding mode to use.
+    * @return                the value as a BigDecimal
+    * @throws NullPointerException if roundingMode is null
+    * @throws ArithmeticException  if the result needs rounding but roundingMode is RoundingMode.UNNECESSARY
     *
     */
-   public BigNumber add(long param)
+   public BigDecimal toBigDecimal(int scale, RoundingMode roundingMode)
    {
    
-      return this.add(new BigNumber(param));
+      Objects.requireNonNull(roundingMode, "roundingMode cannot be null");
+   
+      final BigDecimal exact = this.toTerminatingBigDecimal();
+   
+      if (exact != null)
+      {
+      
+         return exact.setScale(scale, roundingMode);
+      
+      }
+   
+      //one digit more than the scale, so that the halfway point is a whole number of units
+      return this.divideWithStickyDigit(scale + 1).setScale(scale, roundingMode);
    
    }
 
    /**
     *
-    * Standard add function.
+    * Returns the exact value as a BigDecimal, if the decimal expansion terminates.
     *
-    * @param param      the number to add.
-    * @return           The answer.
-    * @throws NullPointerException if parameter is null
+    * That is only the case when the denominator is 2^twos * 5^fives. The twos come straight from the lowest set
+    * bit, and the only power of 5 with the remaining bit length is then checked with a single pow, instead of
+    * trial dividing by 5.
+    *
+    * @return     the exact value, or null if the decimal expansion does not terminate
     *
     */
-   public BigNumber add(BigNumber param)
+   private BigDecimal toTerminatingBigDecimal()
    {
    
-      Objects.requireNonNull(param, "parameter cannot be null");
-   
-      BigInteger resultNumerator;
-      BigInteger resultDenominator;
+      final int twos;
+      final int fives;
    
-      if (this.denominator.equals(param.getDenominator()))
+      if (this.isSmall())
       {
       
-         resultNumerator = this.numerator.add(param.getNumerator());
-         resultDenominator = this.denominator;
+         twos = Long.numberOfTrailingZeros(this.smallDenominator);
       
-      }
+         long rest = this.smallDenominator >>> twos;
+         int count = 0;
       
+         while (rest % 5 == 0)
+         {
+         
+            rest /= 5;
+            count++;
+         
+         }
+      
+         if (rest != 1)
+         {
+         
+            return null;
+         
+         }
+      
+         fives = count;
+      
+      }
+   
       else
       {
       
-         //our goal here is to end up with a shared denominator
-         //So, in order to accomplish that, we will need to do
-         //that cross multiplication thing that you do to end
-         //up with the same denominator
+         twos = this.denominator.getLowestSetBit();
+      
+         final BigInteger rest = this.denominator.shiftRight(twos);
       
-         BigInteger numerator1 = this.numerator.multiply(param.denominator);
-         BigInteger numerator2 = param.numerator.multiply(this.denominator);
+         //5^k has a bit length of floor(k * log2(5)) + 1, which only one k can match. Also, 5^k % 4 is always 1.
+         fives = (int) Math.ceil((rest.bitLength() - 1) / LOG2_5);
       
-         resultNumerator = numerator1.add(numerator2);
-         resultDenominator = param.getDenominator().multiply(this.getDenominator());
+         if ((rest.intValue() & 3) != 1 || !rest.equals(FIVE.pow(fives)))
+         {
+         
+            return null;
+         
+         }
       
       }
    
-      //simplify before we return. We don't want to waste memory when the number can be simplified into something smaller.
-      return simplify(resultNumerator, resultDenominator);
+      //n / (2^twos * 5^fives) == n * 5^(twos - fives) / 10^twos, or n * 2^(fives - twos) / 10^fives
+      final BigInteger numerator = this.getNumerator();
+      final BigInteger unscaled = twos >= fives ? numerator.multiply(FIVE.pow(twos - fives)) : numerator.shiftLeft(fives - twos);
+   
+      return new BigDecimal(unscaled, Math.max(twos, fives));
    
    }
 
    /**
     *
-    * Standard subtract function.
+    * Divides numerator * 10^powerOfTen by the denominator, using a single divideAndRemainder.
     *
-    * @param param      the number to subtract from this.
-    * @return           The answer.
+    * If there is a remainder, an extra digit of 1 (or -1) is appended. The result then sits strictly between the
+    * same two rounding boundaries as the exact value, at any scale below powerOfTen, so rounding it gives the
+    * same answer as rounding the exact value would, in every rounding mode.
+    *
+    * @param powerOfTen     the power of 10 to scale by, which is the scale of the quotient
+    * @return               the quotient, with a sticky digit if the division was inexact
     *
     */
-   public BigNumber subtract(long param)
+   private BigDecimal divideWithStickyDigit(int powerOfTen)
    {
    
-      return this.add(new BigNumber(param).negate());
+      final BigInteger numerator = this.getNumerator();
+      final BigInteger denominator = this.getDenominator();
+      final BigInteger[] quotientAndRemainder = powerOfTen >= 0
+         ? numerator.multiply(BigInteger.TEN.pow(powerOfTen)).divideAndRemainder(denominator)
+         : numerator.divideAndRemainder(denominator.multiply(BigInteger.TEN.pow(-powerOfTen)));
+   
+      final int remainderSign = quotientAndRemainder[1].signum();
+   
+      if (remainderSign == 0)
+      {
+      
+         return new BigDecimal(quotientAndRemainder[0], powerOfTen);
+      
+      }
+   
+      //the remainder has the same sign as the numerator, so this pushes the digits away from zero
+      final BigInteger unscaled = quotientAndRemainder[0].multiply(BigInteger.TEN).add(BigInteger.valueOf(remainderSign));
+   
+      return new BigDecimal(unscaled, powerOfTen + 1);
    
    }
 
    /**
     *
-    * Standard subtract function.
+    * Returns the value as a float, correctly rounded (round half even).
     *
-    * @param param      the number to subtract from this.
-    * @return           The answer.
+    * @return     the value as a float
     *
     */
-   public BigNumber subtract(BigNumber param)
+   public float floatValue()
    {
    
-      Objects.requireNonNull(param, "BigNumber cannot be null");
+      //floats hold 24 bit integers exactly, and a single float division is correctly rounded
+      if (this.isSmall() && Math.abs(this.smallNumerator) <= 1L << 24 && this.smallDenominator <= 1L << 24)
+      {
+      
+         return (float) this.smallNumerator / (float) this.smallDenominator;
+      
+      }
    
-      return this.add(param.negate());
+      //the result is exactly representable as a float, so the cast does not round a second time
+      return (float) this.toBinary(24, -149, 127);
    
    }
 
    /**
     *
-    * Standard multiply function.
+    * Returns the value as a double, correctly rounded (round half even).
     *
-    * @param param      the number to multiply.
-    * @return           The answer.
+    * @return     the value as a double
     *
     */
-   public BigNumber multiply(long param)
+   public double doubleValue()
    {
    
-      return this.multiply(new BigNumber(param));
+      //doubles hold 53 bit integers exactly, and a single double division is correctly rounded
+      if (this.isSmall() && Math.abs(this.smallNumerator) <= 1L << 53 && this.smallDenominator <= 1L << 53)
+      {
+      
+         return (double) this.smallNumerator / (double) this.smallDenominator;
+      
+      }
+   
+      return this.toBinary(53, -1074, 1023);
    
    }
 
    /**
     *
-    * Standard multiply function.
+    * Rounds the value to a binary floating point format, using a single integer division.
     *
-    * @param param      the number to multiply.
-    * @return           The answer.
-    * @throws NullPointerException if parameter is null
+    * The numerator is shifted so that the quotient has 2 or 3 bits more than the format can hold. Those extra
+    * bits and the remainder of the division are all that is needed to round correctly, including for subnormals.
+    *
+    * @param precision      the number of significant bits in the format, counting the implicit leading bit
+    * @param minExponent    the exponent of the least significant bit of the smallest subnormal
+    * @param maxExponent    the exponent of the leading bit of the largest finite value
+    * @return               the rounded value, exactly representable in the format, or an infinity
     *
     */
-   public BigNumber multiply(BigNumber param)
+   private double toBinary(int precision, int minExponent, int maxExponent)
    {
    
-      Objects.requireNonNull(param, "parameter cannot be null");
+      final int sign = this.signum();
+   
+      if (sign == 0)
+      {
+      
+         return 0.0;
+      
+      }
+   
+      final BigInteger absNumerator = this.getNumerator().abs();
+      final BigInteger denominator = this.getDenominator();
+   
+      //2^(exponent - 1) < |value| < 2^(exponent + 1)
+      final int exponent = absNumerator.bitLength() - denominator.bitLength();
+   
+      if (exponent > maxExponent + 1)
+      {
+      
+         return sign * Double.POSITIVE_INFINITY;
+      
+      }
+   
+      //below half of the smallest subnormal, so this rounds to zero
+      if (exponent < minExponent - 1)
+      {
+      
+         return sign * 0.0;
+      
+      }
+   
+      //the quotient ends up with precision + 2 or precision + 3 bits, which fits in a long for doubles and floats
+      final int shift = precision + 2 - exponent;
+      final BigInteger[] quotientAndRemainder = shift >= 0
+         ? absNumerator.shiftLeft(shift).divideAndRemainder(denominator)
+         : absNumerator.divideAndRemainder(denominator.shiftLeft(-shift));
+   
+      final long quotient = quotientAndRemainder[0].longValue();
+      final boolean sticky = quotientAndRemainder[1].signum() != 0;
    
-      final BigInteger resultNumerator = this.numerator.multiply(param.numerator);
-      final BigInteger resultDenominator = this.denominator.multiply(param.denominator);
+      //drop the bits the format cannot hold, which is more of them for subnormals
+      final int quotientBits = Long.SIZE - Long.numberOfLeadingZeros(quotient);
+      final int drop = Math.max(quotientBits - precision, minExponent + shift);
+      final long half = 1L << (drop - 1);
+      final long dropped = quotient & ((1L << drop) - 1);
    
-      return simplify(resultNumerator, resultDenominator);
+      long mantissa = quotient >>> drop;
+   
+      if (dropped > half || (dropped == half && (sticky || (mantissa & 1) == 1)))
+      {
+      
+         mantissa++;
+      
+      }
+   
+      //the mantissa has at most precision + 1 bits, so this is exact unless it overflows to infinity
+      return sign * Math.scalb((double) mantissa, drop - shift);
    
    }
 
    /**
     *
-    * Standard divide function.
+    * Compares the values of two BigNumbers. Since every BigNumber is kept in lowest terms, this just
+    * compares numerators and denominators.
     *
-    * @param param      the number to divide this by.
-    * @return           The answer.
-    * @throws IllegalArgumentException if param == 0
+    * @param obj  the object to compare to
+    * @return     true if obj is a BigNumber with the same value
     *
     */
-   public BigNumber divide(long param)
+   public boolean equals(Object obj)
    {
    
-      if (param == 0) {
-         throw new IllegalArgumentException("param cannot be 0"); }
+      if (this == obj)
+      {
+      
+         return true;
+      
+      }
+   
+      if (!(obj instanceof BigNumber))
+      {
+      
+         return false;
+      
+      }
+   
+      final BigNumber other = (BigNumber) obj;
+   
+      if (this.isSmall() || other.isSmall())
+      {
+      
+         //a value only has one representation, so a small and a big BigNumber can never be equal
+         return this.isSmall() && other.isSmall() && this.smallNumerator == other.smallNumerator && this.smallDenominator == other.smallDenominator;
+      
+      }
    
-      return this.divide(new BigNumber(param));
+      //cheap rejections first, before comparing the magnitudes word by word
+      return this.numerator.signum() == other.numerator.signum()
+         && this.numerator.bitLength() == other.numerator.bitLength()
+         && this.denominator.bitLength() == other.denominator.bitLength()
+         && this.denominator.equals(other.denominator)
+         && this.numerator.equals(other.numerator);
    
    }
 
    /**
     *
-    * Standard divide function.
+    * Compares the values of two BigNumbers.
     *
-    * @param param      the number to divide this by.
-    * @return           The answer.
+    * Most comparisons are settled by the signs, or by the bit lengths, which pin log2 of each value down to
+    * within 1. Only values that are close fall back to cross multiplying, and when both values fit into longs,
+    * that is done with 128 bit long arithmetic. Nothing is allocated unless a BigInteger cross multiply is needed.
+    *
+    * @param param      the number to compare to.
+    * @return           a negative number, zero or a positive number as this is less than, equal to or greater than param
     * @throws NullPointerException if parameter is null
-    * @throws IllegalArgumentException if param == 0
     *
     */
-   public BigNumber divide(BigNumber param)
+   public int compareTo(BigNumber param)
    {
    
       Objects.requireNonNull(param, "parameter cannot be null");
    
-      if (param.numerator.equals(BigInteger.ZERO)) {
-         throw new IllegalArgumentException("param cannot be 0"); }
+      final int sign = this.signum();
+      final int paramSign = param.signum();
+   
+      if (sign != paramSign || sign == 0)
+      {
+      
+         return Integer.compare(sign, paramSign);
+      
+      }
+   
+      if (this.isSmall() && param.isSmall())
+      {
+      
+         //compare n1*d2 to n2*d1 as 128 bit numbers, high words signed, low words unsigned
+         final long high1 = Math.multiplyHigh(this.smallNumerator, param.smallDenominator);
+         final long high2 = Math.multiplyHigh(param.smallNumerator, this.smallDenominator);
+      
+         if (high1 != high2)
+         {
+         
+            return Long.compare(high1, high2);
+         
+         }
+      
+         return Long.compareUnsigned(this.smallNumerator * param.smallDenominator, param.smallNumerator * this.smallDenominator);
+      
+      }
+   
+      //2^(e - 1) < |n / d| < 2^(e + 1), where e is the difference in bit lengths, so a gap of 2 decides it
+      final int exponent = this.numeratorBitLength() - this.denominatorBitLength();
+      final int paramExponent = param.numeratorBitLength() - param.denominatorBitLength();
    
-      return this.multiply(new BigNumber(param.denominator, param.numerator));
+      if (Math.abs(exponent - paramExponent) >= 2)
+      {
+      
+         return sign * Integer.compare(exponent, paramExponent);
+      
+      }
+   
+      return this.getNumerator().multiply(param.getDenominator()).compareTo(param.getNumerator().multiply(this.getDenominator()));
+   
+   }
+
+   /** {@inheritDoc} */
+   public int hashCode()
+   {
+   
+      int result = this.hash;
+   
+      if (result == 0)
+      {
+      
+         result = this.isSmall()
+            ? 31 * Long.hashCode(this.smallNumerator) + Long.hashCode(this.smallDenominator)
+            : 31 * this.numerator.hashCode() + this.denominator.hashCode();
+         this.hash = result;
+      
+      }
+   
+      return result;
    
    }
 
@@ -369,10 +2597,170 @@ public final class BigNumber
    public String toString()
    {
    
-      return this.numerator + " / " + this.denominator;
+      return this.isSmall() ? this.smallNumerator + " / " + this.smallDenominator : this.numerator + " / " + this.denominator;
    
    }
 
+   /**
+    *
+    * The shared instances behind {@link #valueOf(long)} and {@link #valueOf(long, long)}. Kept in its own class, so
+    * the cache is only built the first time it is used.
+    *
+    */
+   private static final class SmallValueCache
+   {
+
+      /**
+       *
+       * The smallest cached integer.
+       *
+       */
+      static final int LOW = -128;
+
+      /**
+       *
+       * The largest cached integer, and the largest cached unit fraction denominator.
+       *
+       */
+      static final int HIGH = Math.min(Math.max(Integer.getInteger("BigNumber.cache.high", 127), 127), Integer.MAX_VALUE + LOW - 1);
+
+      /**
+       *
+       * LOW through HIGH, sharing the public constants where there is one.
+       *
+       */
+      static final BigNumber[] INTEGERS = new BigNumber[HIGH - LOW + 1];
+
+      /**
+       *
+       * 1/2 through 1/HIGH, sharing the public constants where there is one.
+       *
+       */
+      static final BigNumber[] UNIT_FRACTIONS = new BigNumber[HIGH - 1];
+
+      static
+      {
+      
+         for (int i = 0; i < INTEGERS.length; i++)
+         {
+         
+            INTEGERS[i] = new BigNumber(LOW + i, 1);
+         
+         }
+      
+         for (BigNumber constant : new BigNumber[] {ZERO, ONE, TWO, TEN, MINUS_ONE})
+         {
+         
+            INTEGERS[(int) constant.smallNumerator - LOW] = constant;
+         
+         }
+      
+         for (int i = 0; i < UNIT_FRACTIONS.length; i++)
+         {
+         
+            UNIT_FRACTIONS[i] = new BigNumber(1, i + 2);
+         
+         }
+      
+         for (BigNumber constant : new BigNumber[] {ONE_HALF, ONE_THIRD, ONE_QUARTER})
+         {
+         
+            UNIT_FRACTIONS[(int) constant.smallDenominator - 2] = constant;
+         
+         }
+      
+      }
+
+   }
+
+   /**
+    *
+    * Combines a range of an array across the ForkJoinPool, splitting it in half until it drops below
+    * {@link #PARALLEL_THRESHOLD}.
+    *
+    */
+   private static final class TreeReduction extends RecursiveTask<BigNumber>
+   {
+
+      /**
+       *
+       * Serialization version, required since RecursiveTask is Serializable.
+       *
+       */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       *
+       * The numbers to combine.
+       *
+       */
+      private final BigNumber[] values;
+
+      /**
+       *
+       * The first index of the range.
+       *
+       */
+      private final int from;
+
+      /**
+       *
+       * The index after the last one in the range.
+       *
+       */
+      private final int to;
+
+      /**
+       *
+       * The associative operation to combine them with.
+       *
+       */
+      private final transient BinaryOperator<BigNumber> operator;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param values     the numbers to combine
+       * @param from       the first index of the range
+       * @param to         the index after the last one in the range, must be greater than from
+       * @param operator   the associative operation to combine them with
+       *
+       */
+      TreeReduction(BigNumber[] values, int from, int to, BinaryOperator<BigNumber> operator)
+      {
+      
+         this.values = values;
+         this.from = from;
+         this.to = to;
+         this.operator = operator;
+      
+      }
+
+      /** {@inheritDoc} */
+      protected BigNumber compute()
+      {
+      
+         if (this.to - this.from < PARALLEL_THRESHOLD)
+         {
+         
+            return reduce(this.values, this.from, this.to, this.operator);
+         
+         }
+      
+         final int middle = (this.from + this.to) >>> 1;
+         final TreeReduction left = new TreeReduction(this.values, this.from, middle, this.operator);
+      
+         left.fork();
+      
+         final BigNumber right = new TreeReduction(this.values, middle, this.to, this.operator).compute();
+      
+         return this.operator.apply(left.join(), right);
+      
+      }
+
+   }
+
    //code review additions
 
 }
\ No newline at end of file
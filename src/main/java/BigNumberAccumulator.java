@@ -0,0 +1,320 @@
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ *
+ * A mutable running total for {@link BigNumber}, for loops that would otherwise chain thousands of add calls.
+ *
+ * Chaining BigNumber.add creates a new object and runs a gcd on every step. This class instead keeps a
+ * single, unreduced numerator and denominator, and only simplifies them once the denominator grows past a
+ * threshold, or when the result is read through {@link #get()}. Since every fraction has exactly
+ * one form in lowest terms, the result is identical to what chained BigNumber calls would have produced.
+ *
+ * This class is not thread safe.
+ *
+ */
+public final class BigNumberAccumulator
+{
+
+   /**
+    *
+    * The default number of bits the denominator may grow by before we simplify.
+    *
+    */
+   public static final int DEFAULT_NORMALIZE_THRESHOLD = 2048;
+
+   /**
+    *
+    * How many bits the denominator may grow by before we simplify.
+    *
+    */
+   private final int normalizeThreshold;
+
+   /**
+    *
+    * The bit length the denominator has to pass before we simplify again.
+    *
+    * Measured from the size of the last simplified denominator, so that a total whose lowest terms are
+    * genuinely large does not end up simplifying on every call.
+    *
+    */
+   private int normalizeAt;
+
+   /**
+    *
+    * The numerator. Not necessarily in lowest terms.
+    *
+    */
+   private BigInteger numerator;
+
+   /**
+    *
+    * The denominator. Not necessarily in lowest terms, but always strictly positive.
+    *
+    */
+   private BigInteger denominator;
+
+   /**
+    *
+    * True if {@link #numerator} and {@link #denominator} are known to be in lowest terms.
+    *
+    */
+   private boolean reduced;
+
+   /**
+    *
+    * Constructor. Starts at 0, using {@link #DEFAULT_NORMALIZE_THRESHOLD}.
+    *
+    */
+   public BigNumberAccumulator()
+   {
+   
+      this(BigNumber.ZERO, DEFAULT_NORMALIZE_THRESHOLD);
+   
+   }
+
+   /**
+    *
+    * Constructor, using {@link #DEFAULT_NORMALIZE_THRESHOLD}.
+    *
+    * @param initial    the starting value.
+    * @throws NullPointerException if initial is null
+    *
+    */
+   public BigNumberAccumulator(BigNumber initial)
+   {
+   
+      this(initial, DEFAULT_NORMALIZE_THRESHOLD);
+   
+   }
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param initial               the starting value.
+    * @param normalizeThreshold    how many bits the denominator may grow by before we simplify.
+    * @throws NullPointerException        if initial is null
+    * @throws IllegalArgumentException    if normalizeThreshold is less than 1
+    *
+    */
+   public BigNumberAccumulator(BigNumber initial, int normalizeThreshold)
+   {
+   
+      Objects.requireNonNull(initial, "initial cannot be null");
+   
+      if (normalizeThreshold < 1)
+      {
+      
+         throw new IllegalArgumentException("normalizeThreshold must be at least 1");
+      
+      }
+   
+      this.normalizeThreshold = normalizeThreshold;
+      this.numerator = initial.getNumerator();
+      this.denominator = initial.getDenominator();
+      this.reduced = true;
+      this.normalizeAt = this.denominator.bitLength() + normalizeThreshold;
+   
+   }
+
+   /**
+    *
+    * Adds param to the running total.
+    *
+    * @param param      the number to add.
+    * @return           this accumulator.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumberAccumulator add(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      this.addFraction(param.getNumerator(), param.getDenominator());
+   
+      return this;
+   
+   }
+
+   /**
+    *
+    * Subtracts param from the running total.
+    *
+    * @param param      the number to subtract.
+    * @return           this accumulator.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumberAccumulator subtract(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      this.addFraction(param.getNumerator().negate(), param.getDenominator());
+   
+      return this;
+   
+   }
+
+   /**
+    *
+    * Multiplies the running total by param.
+    *
+    * @param param      the number to multiply by.
+    * @return           this accumulator.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public BigNumberAccumulator multiply(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      this.numerator = this.numerator.multiply(param.getNumerator());
+      this.denominator = this.denominator.multiply(param.getDenominator());
+      this.reduced = false;
+   
+      this.normalizeIfNeeded();
+   
+      return this;
+   
+   }
+
+   /**
+    *
+    * Adds the product of a and b to the running total, without creating a BigNumber for the product.
+    *
+    * @param a          the first number to multiply.
+    * @param b          the second number to multiply.
+    * @return           this accumulator.
+    * @throws NullPointerException if either parameter is null
+    *
+    */
+   public BigNumberAccumulator addProduct(BigNumber a, BigNumber b)
+   {
+   
+      Objects.requireNonNull(a, "a cannot be null");
+      Objects.requireNonNull(b, "b cannot be null");
+   
+      this.addFraction(a.getNumerator().multiply(b.getNumerator()), a.getDenominator().multiply(b.getDenominator()));
+   
+      return this;
+   
+   }
+
+   /**
+    *
+    * Returns the running total, in lowest terms.
+    *
+    * @return     the running total.
+    *
+    */
+   public BigNumber get()
+   {
+   
+      this.normalize();
+   
+      return BigNumber.fromReduced(this.numerator, this.denominator);
+   
+   }
+
+   /** {@inheritDoc} */
+   public String toString()
+   {
+   
+      return this.get().toString();
+   
+   }
+
+   /**
+    *
+    * Adds a fraction to the running total, without simplifying unless the threshold has been crossed.
+    *
+    * @param addNumerator       the numerator to add
+    * @param addDenominator     the strictly positive denominator to add
+    *
+    */
+   private void addFraction(BigInteger addNumerator, BigInteger addDenominator)
+   {
+   
+      //adding an integer can never introduce a common factor, so that keeps us reduced if we already were
+      if (addDenominator.equals(BigInteger.ONE))
+      {
+      
+         this.numerator = this.numerator.add(addNumerator.multiply(this.denominator));
+      
+         return;
+      
+      }
+   
+      if (this.denominator.equals(addDenominator))
+      {
+      
+         this.numerator = this.numerator.add(addNumerator);
+      
+      }
+   
+      else
+      {
+      
+         this.numerator = this.numerator.multiply(addDenominator).add(addNumerator.multiply(this.denominator));
+         this.denominator = this.denominator.multiply(addDenominator);
+      
+      }
+   
+      this.reduced = false;
+   
+      this.normalizeIfNeeded();
+   
+   }
+
+   /**
+    *
+    * Simplifies the running total if the denominator has grown past the threshold.
+    *
+    */
+   private void normalizeIfNeeded()
+   {
+   
+      if (this.denominator.bitLength() > this.normalizeAt)
+      {
+      
+         this.normalize();
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Simplifies the running total into lowest terms.
+    *
+    */
+   private void normalize()
+   {
+   
+      if (this.reduced)
+      {
+      
+         return;
+      
+      }
+   
+      final BigInteger gcd = BigNumber.gcd(this.numerator, this.denominator);
+   
+      if (!gcd.equals(BigInteger.ONE))
+      {
+      
+         this.numerator = this.numerator.divide(gcd);
+         this.denominator = this.denominator.divide(gcd);
+      
+      }
+   
+      this.reduced = true;
+      this.normalizeAt = this.denominator.bitLength() + this.normalizeThreshold;
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *
+ * A running total of BigNumbers that many threads can add to at once, in the style of LongAdder.
+ *
+ * A single AtomicReference&lt;BigNumber&gt; updated in a CAS loop falls apart under contention, since every
+ * retry redoes a whole BigNumber.add. This class instead spreads the total over a number of cells, each with
+ * its own lock and {@link BigNumberAccumulator}. Threads hash to a cell, and move on to another one if theirs
+ * is busy, so they rarely wait on each other. The cells are only combined when the total is read.
+ *
+ * Like LongAdder, {@link #sum()} is not an atomic snapshot, as values may be added to cells that were
+ * already read while it runs.
+ *
+ */
+public final class BigNumberAdder
+{
+
+   /**
+    *
+    * How many busy cells a thread will try before it waits on one.
+    *
+    */
+   private static final int MAX_ATTEMPTS = 4;
+
+   /**
+    *
+    * Each thread's current position in the cells. Starts out random, and moves whenever the thread hits a busy cell.
+    *
+    */
+   private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[] {ThreadLocalRandom.current().nextInt() | 1});
+
+   /**
+    *
+    * The cells. The length is the number of processors, rounded up to a power of 2.
+    *
+    */
+   private final Cell[] cells;
+
+   /**
+    *
+    * Constructor. Starts at 0.
+    *
+    */
+   public BigNumberAdder()
+   {
+   
+      final int processors = Runtime.getRuntime().availableProcessors();
+   
+      this.cells = new Cell[processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1];
+   
+      for (int i = 0; i < this.cells.length; i++)
+      {
+      
+         this.cells[i] = new Cell();
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Adds param to the total.
+    *
+    * @param param      the number to add.
+    *
+    */
+   public void add(long param)
+   {
+   
+      this.add(BigNumber.valueOf(param));
+   
+   }
+
+   /**
+    *
+    * Adds param to the total.
+    *
+    * @param param      the number to add.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public void add(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      final int[] probe = PROBE.get();
+      final int mask = this.cells.length - 1;
+   
+      int hash = probe[0];
+   
+      for (int attempt = 1; ; attempt++)
+      {
+      
+         final Cell cell = this.cells[hash & mask];
+      
+         if (attempt >= MAX_ATTEMPTS)
+         {
+         
+            cell.lock.lock();
+         
+         }
+      
+         else if (!cell.lock.tryLock())
+         {
+         
+            //busy, so move this thread on to another cell, the same xorshift step LongAdder uses
+            hash ^= hash << 13;
+            hash ^= hash >>> 17;
+            hash ^= hash << 5;
+            probe[0] = hash;
+         
+            continue;
+         
+         }
+      
+         try
+         {
+         
+            cell.partial.add(param);
+         
+         }
+      
+         finally
+         {
+         
+            cell.lock.unlock();
+         
+         }
+      
+         return;
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns the total.
+    *
+    * @return     the total.
+    *
+    */
+   public BigNumber sum()
+   {
+   
+      return this.combine(false);
+   
+   }
+
+   /**
+    *
+    * Sets the total back to 0.
+    *
+    */
+   public void reset()
+   {
+   
+      //nothing needs adding up, so just clear each cell under its lock
+      for (Cell cell : this.cells)
+      {
+      
+         cell.lock.lock();
+      
+         try
+         {
+         
+            cell.partial = new BigNumberAccumulator();
+         
+         }
+      
+         finally
+         {
+         
+            cell.lock.unlock();
+         
+         }
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns the total, and sets it back to 0. Each cell is read and cleared together, so no value added in the
+    * meantime is lost, but like {@link #sum()}, this is not an atomic snapshot.
+    *
+    * @return     the total before the reset.
+    *
+    */
+   public BigNumber sumThenReset()
+   {
+   
+      return this.combine(true);
+   
+   }
+
+   /**
+    *
+    * Adds up the cells, optionally clearing each one as it is read.
+    *
+    * @param reset      true to set each cell back to 0
+    * @return           the total
+    *
+    */
+   private BigNumber combine(boolean reset)
+   {
+   
+      final BigNumberAccumulator total = new BigNumberAccumulator();
+   
+      for (Cell cell : this.cells)
+      {
+      
+         cell.lock.lock();
+      
+         try
+         {
+         
+            total.add(cell.partial.get());
+         
+            if (reset)
+            {
+            
+               cell.partial = new BigNumberAccumulator();
+            
+            }
+         
+         }
+      
+         finally
+         {
+         
+            cell.lock.unlock();
+         
+         }
+      
+      }
+   
+      return total.get();
+   
+   }
+
+   /** {@inheritDoc} */
+   public String toString()
+   {
+   
+      return this.sum().toString();
+   
+   }
+
+   /**
+    *
+    * One stripe of the total.
+    *
+    */
+   private static final class Cell
+   {
+
+      /**
+       *
+       * Guards {@link #partial}.
+       *
+       */
+      final ReentrantLock lock = new ReentrantLock();
+
+      /**
+       *
+       * This cell's part of the total.
+       *
+       */
+      BigNumberAccumulator partial = new BigNumberAccumulator();
+
+   }
+
+}
\ No newline at end of file
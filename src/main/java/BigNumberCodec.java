@@ -0,0 +1,801 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ *
+ * A compact binary format for BigNumbers.
+ *
+ * Every value starts with a header, an unsigned varint (7 bits per byte, least significant group first, high bit
+ * set on every byte but the last), whose low 2 bits say what follows.
+ *
+ *    0 - an integer n with |n| under 2^61, with the rest of the header holding zigzag(n), and nothing after it
+ *    1 - a fraction n / d with |n| under 2^61 and d fitting in a long, with the rest of the header holding zigzag(n),
+ *        followed by d as an unsigned varint
+ *    2 - any other value, with the rest of the header holding the length of the numerator in bytes, followed by the
+ *        numerator as big-endian two's complement bytes, the length of the denominator as an unsigned varint, and the
+ *        denominator the same way as the numerator
+ *
+ * zigzag(n) is (n &lt;&lt; 1) ^ (n &gt;&gt; 63), which keeps small negative numbers small. So 0 takes 1 byte, 1 / 2 takes 2,
+ * and -1000 / 7 takes 3, against the 9 chars of toString(). Nothing goes through Strings on the way in or out.
+ *
+ * Small fractions are reduced as they are read. Values written as bytes must have a positive denominator, and decode
+ * trusts that they are in lowest terms, as encode writes them, since checking takes a gcd that costs far more than
+ * the rest of decoding. Input that did not come from encode should go through decodeChecked instead, which also
+ * rejects bytes that are not in lowest terms. Malformed input throws IllegalArgumentException, and input that ends
+ * too soon throws BufferUnderflowException from a ByteBuffer, or EOFException from a DataInput.
+ *
+ */
+public final class BigNumberCodec
+{
+
+   /**
+    *
+    * The header kind of a small integer.
+    *
+    */
+   static final int INTEGER = 0;
+
+   /**
+    *
+    * The header kind of a small fraction.
+    *
+    */
+   static final int FRACTION = 1;
+
+   /**
+    *
+    * The header kind of a value written as bytes.
+    *
+    */
+   static final int BYTES = 2;
+
+   /**
+    *
+    * The largest number of bytes in a varint, enough for 64 bits.
+    *
+    */
+   private static final int MAX_VARINT_LENGTH = 10;
+
+   /**
+    *
+    * The most bytes the two's complement form of a BigInteger can take.
+    *
+    */
+   private static final int MAX_BYTE_LENGTH = Integer.MAX_VALUE / Byte.SIZE + 1;
+
+   /**
+    *
+    * The number of bytes a DataInput is first asked for when reading a BigInteger. The array only grows past this
+    * as the bytes actually arrive, so a bad length in a short stream cannot make decode allocate much.
+    *
+    */
+   private static final int READ_CHUNK_SIZE = 1 << 16;
+
+   /**
+    *
+    * This class only has static methods.
+    *
+    */
+   private BigNumberCodec()
+   {
+   
+      throw new AssertionError("no instances");
+   
+   }
+
+   /**
+    *
+    * Returns the number of bytes the encoding of a value takes.
+    *
+    * @param value    the value
+    * @return         the number of bytes
+    * @throws NullPointerException if value is null
+    *
+    */
+   public static int encodedLength(BigNumber value)
+   {
+   
+      Objects.requireNonNull(value, "value cannot be null");
+   
+      if (isSmallEnough(value))
+      {
+      
+         final int header = varintLength(zigzag(value.getSmallNumerator()) << 2);
+      
+         return value.getSmallDenominator() == 1 ? header : header + varintLength(value.getSmallDenominator());
+      
+      }
+   
+      final int numeratorLength = byteLength(value.getNumerator());
+      final int denominatorLength = byteLength(value.getDenominator());
+   
+      return varintLength((long) numeratorLength << 2) + numeratorLength + varintLength(denominatorLength) + denominatorLength;
+   
+   }
+
+   /**
+    *
+    * Encodes a value into a new array.
+    *
+    * @param value    the value
+    * @return         the encoding, exactly {@link #encodedLength(BigNumber)} bytes long
+    * @throws NullPointerException if value is null
+    *
+    */
+   public static byte[] encode(BigNumber value)
+   {
+   
+      final byte[] result = new byte[encodedLength(value)];
+   
+      encode(value, ByteBuffer.wrap(result));
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Encodes a value at the position of a buffer, and moves the position past it.
+    *
+    * @param value     the value
+    * @param buffer    the buffer
+    * @throws NullPointerException                  if value or buffer is null
+    * @throws java.nio.BufferOverflowException     if the buffer does not have room for the encoding
+    *
+    */
+   public static void encode(BigNumber value, ByteBuffer buffer)
+   {
+   
+      Objects.requireNonNull(value, "value cannot be null");
+      Objects.requireNonNull(buffer, "buffer cannot be null");
+   
+      if (isSmallEnough(value))
+      {
+      
+         final long denominator = value.getSmallDenominator();
+      
+         putVarint(buffer, zigzag(value.getSmallNumerator()) << 2 | (denominator == 1 ? INTEGER : FRACTION));
+      
+         if (denominator != 1)
+         {
+         
+            putVarint(buffer, denominator);
+         
+         }
+      
+         return;
+      
+      }
+   
+      final byte[] numerator = value.getNumerator().toByteArray();
+      final byte[] denominator = value.getDenominator().toByteArray();
+   
+      putVarint(buffer, (long) numerator.length << 2 | BYTES);
+      buffer.put(numerator);
+      putVarint(buffer, denominator.length);
+      buffer.put(denominator);
+   
+   }
+
+   /**
+    *
+    * Encodes a value to a DataOutput.
+    *
+    * @param value    the value
+    * @param out      the output
+    * @throws NullPointerException    if value or out is null
+    * @throws IOException             if out throws it
+    *
+    */
+   public static void encode(BigNumber value, DataOutput out) throws IOException
+   {
+   
+      Objects.requireNonNull(value, "value cannot be null");
+      Objects.requireNonNull(out, "out cannot be null");
+   
+      if (isSmallEnough(value))
+      {
+      
+         final long denominator = value.getSmallDenominator();
+      
+         writeVarint(out, zigzag(value.getSmallNumerator()) << 2 | (denominator == 1 ? INTEGER : FRACTION));
+      
+         if (denominator != 1)
+         {
+         
+            writeVarint(out, denominator);
+         
+         }
+      
+         return;
+      
+      }
+   
+      final byte[] numerator = value.getNumerator().toByteArray();
+      final byte[] denominator = value.getDenominator().toByteArray();
+   
+      writeVarint(out, (long) numerator.length << 2 | BYTES);
+      out.write(numerator);
+      writeVarint(out, denominator.length);
+      out.write(denominator);
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a whole array.
+    *
+    * @param bytes    the encoding
+    * @return         the value
+    * @throws NullPointerException          if bytes is null
+    * @throws IllegalArgumentException      if bytes is not exactly one valid encoding
+    * @throws BufferUnderflowException      if bytes ends before the encoding does
+    *
+    */
+   public static BigNumber decode(byte[] bytes)
+   {
+   
+      return decode(bytes, false);
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a whole array, the same as {@link #decode(byte[])}, but also checks that a value written
+    * as bytes is in lowest terms.
+    *
+    * @param bytes    the encoding
+    * @return         the value
+    * @throws NullPointerException          if bytes is null
+    * @throws IllegalArgumentException      if bytes is not exactly one valid encoding
+    * @throws BufferUnderflowException      if bytes ends before the encoding does
+    *
+    */
+   public static BigNumber decodeChecked(byte[] bytes)
+   {
+   
+      return decode(bytes, true);
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a whole array.
+    *
+    * @param bytes    the encoding
+    * @param check    true to check that a value written as bytes is in lowest terms
+    * @return         the value
+    *
+    */
+   private static BigNumber decode(byte[] bytes, boolean check)
+   {
+   
+      Objects.requireNonNull(bytes, "bytes cannot be null");
+   
+      final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      final BigNumber result = decode(buffer, check);
+   
+      if (buffer.hasRemaining())
+      {
+      
+         throw new IllegalArgumentException("bytes has " + buffer.remaining() + " bytes left over after the value");
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Decodes a value at the position of a buffer, and moves the position past it.
+    *
+    * @param buffer    the buffer
+    * @return          the value
+    * @throws NullPointerException          if buffer is null
+    * @throws IllegalArgumentException      if the encoding is not valid
+    * @throws BufferUnderflowException      if the buffer ends before the encoding does
+    *
+    */
+   public static BigNumber decode(ByteBuffer buffer)
+   {
+   
+      return decode(buffer, false);
+   
+   }
+
+   /**
+    *
+    * Decodes a value at the position of a buffer, the same as {@link #decode(ByteBuffer)}, but also checks that a
+    * value written as bytes is in lowest terms.
+    *
+    * @param buffer    the buffer
+    * @return          the value
+    * @throws NullPointerException          if buffer is null
+    * @throws IllegalArgumentException      if the encoding is not valid
+    * @throws BufferUnderflowException      if the buffer ends before the encoding does
+    *
+    */
+   public static BigNumber decodeChecked(ByteBuffer buffer)
+   {
+   
+      return decode(buffer, true);
+   
+   }
+
+   /**
+    *
+    * Decodes a value at the position of a buffer, and moves the position past it.
+    *
+    * @param buffer    the buffer
+    * @param check     true to check that a value written as bytes is in lowest terms
+    * @return          the value
+    *
+    */
+   private static BigNumber decode(ByteBuffer buffer, boolean check)
+   {
+   
+      Objects.requireNonNull(buffer, "buffer cannot be null");
+   
+      final long header = getVarint(buffer);
+   
+      switch ((int) header & 3)
+      {
+      
+         case INTEGER:
+            return BigNumber.valueOf(unzigzag(header >>> 2));
+      
+         case FRACTION:
+            return fraction(unzigzag(header >>> 2), getVarint(buffer));
+      
+         case BYTES:
+            final BigInteger numerator = getBigInteger(buffer, header >>> 2);
+            final BigInteger denominator = getBigInteger(buffer, getVarint(buffer));
+      
+            return fromBytes(numerator, denominator, check);
+      
+         default:
+            throw new IllegalArgumentException("unknown header kind 3");
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a DataInput.
+    *
+    * @param in    the input
+    * @return      the value
+    * @throws NullPointerException        if in is null
+    * @throws IllegalArgumentException    if the encoding is not valid
+    * @throws IOException                 if in throws it, including EOFException if it ends before the encoding does
+    *
+    */
+   public static BigNumber decode(DataInput in) throws IOException
+   {
+   
+      return decode(in, false);
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a DataInput, the same as {@link #decode(DataInput)}, but also checks that a value written
+    * as bytes is in lowest terms.
+    *
+    * @param in    the input
+    * @return      the value
+    * @throws NullPointerException        if in is null
+    * @throws IllegalArgumentException    if the encoding is not valid
+    * @throws IOException                 if in throws it, including EOFException if it ends before the encoding does
+    *
+    */
+   public static BigNumber decodeChecked(DataInput in) throws IOException
+   {
+   
+      return decode(in, true);
+   
+   }
+
+   /**
+    *
+    * Decodes a value from a DataInput.
+    *
+    * @param in       the input
+    * @param check    true to check that a value written as bytes is in lowest terms
+    * @return         the value
+    * @throws IOException if in throws it
+    *
+    */
+   private static BigNumber decode(DataInput in, boolean check) throws IOException
+   {
+   
+      Objects.requireNonNull(in, "in cannot be null");
+   
+      final long header = readVarint(in);
+   
+      switch ((int) header & 3)
+      {
+      
+         case INTEGER:
+            return BigNumber.valueOf(unzigzag(header >>> 2));
+      
+         case FRACTION:
+            return fraction(unzigzag(header >>> 2), readVarint(in));
+      
+         case BYTES:
+            final BigInteger numerator = readBigInteger(in, header >>> 2);
+            final BigInteger denominator = readBigInteger(in, readVarint(in));
+      
+            return fromBytes(numerator, denominator, check);
+      
+         default:
+            throw new IllegalArgumentException("unknown header kind 3");
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns true if a value can use one of the small header kinds.
+    *
+    * @param value    the value
+    * @return         boolean result
+    *
+    */
+   private static boolean isSmallEnough(BigNumber value)
+   {
+   
+      final long numerator = value.getSmallNumerator();
+   
+      return value.isSmall() && numerator >= -(1L << 61) && numerator < 1L << 61;
+   
+   }
+
+   /**
+    *
+    * Builds a small fraction that was read back.
+    *
+    * @param numerator      the numerator
+    * @param denominator    the denominator
+    * @return               the value
+    * @throws IllegalArgumentException if the denominator is not positive
+    *
+    */
+   private static BigNumber fraction(long numerator, long denominator)
+   {
+   
+      if (denominator <= 0)
+      {
+      
+         throw new IllegalArgumentException("denominator must be positive");
+      
+      }
+   
+      return BigNumber.valueOf(numerator, denominator);
+   
+   }
+
+   /**
+    *
+    * Builds a value that was read back as bytes.
+    *
+    * @param numerator      the numerator
+    * @param denominator    the denominator
+    * @param check          true to check that the fraction is in lowest terms, rather than trusting it
+    * @return               the value
+    * @throws IllegalArgumentException if the denominator is not positive, or check is true and the fraction is not
+    *                                  in lowest terms
+    *
+    */
+   private static BigNumber fromBytes(BigInteger numerator, BigInteger denominator, boolean check)
+   {
+   
+      if (denominator.signum() <= 0)
+      {
+      
+         throw new IllegalArgumentException("denominator must be positive");
+      
+      }
+   
+      //fromReduced trusts its input, so anything else here would build a value like 2 / 4 that breaks equals
+      if (check && !BigNumber.gcd(numerator, denominator).equals(BigInteger.ONE))
+      {
+      
+         throw new IllegalArgumentException("fraction must be in lowest terms");
+      
+      }
+   
+      return BigNumber.fromReduced(numerator, denominator);
+   
+   }
+
+   /**
+    *
+    * Returns the number of bytes in the two's complement form of a BigInteger, the same as toByteArray().length.
+    *
+    * @param value    the value
+    * @return         the number of bytes
+    *
+    */
+   private static int byteLength(BigInteger value)
+   {
+   
+      return value.bitLength() / 8 + 1;
+   
+   }
+
+   /**
+    *
+    * Maps a signed value to an unsigned one, so that values near 0 of either sign stay small.
+    *
+    * @param value    the value
+    * @return         the zigzag encoding
+    *
+    */
+   private static long zigzag(long value)
+   {
+   
+      return value << 1 ^ value >> 63;
+   
+   }
+
+   /**
+    *
+    * Undoes {@link #zigzag(long)}.
+    *
+    * @param value    the zigzag encoding
+    * @return         the value
+    *
+    */
+   static long unzigzag(long value)
+   {
+   
+      return value >>> 1 ^ -(value & 1);
+   
+   }
+
+   /**
+    *
+    * Returns the number of bytes in the varint form of an unsigned value.
+    *
+    * @param value    the value
+    * @return         the number of bytes
+    *
+    */
+   private static int varintLength(long value)
+   {
+   
+      return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+   
+   }
+
+   /**
+    *
+    * Writes an unsigned varint to a buffer.
+    *
+    * @param buffer    the buffer
+    * @param value     the value
+    *
+    */
+   private static void putVarint(ByteBuffer buffer, long value)
+   {
+   
+      while ((value & ~0x7FL) != 0)
+      {
+      
+         buffer.put((byte) (value | 0x80));
+         value >>>= 7;
+      
+      }
+   
+      buffer.put((byte) value);
+   
+   }
+
+   /**
+    *
+    * Writes an unsigned varint to a DataOutput.
+    *
+    * @param out      the output
+    * @param value    the value
+    * @throws IOException if out throws it
+    *
+    */
+   private static void writeVarint(DataOutput out, long value) throws IOException
+   {
+   
+      while ((value & ~0x7FL) != 0)
+      {
+      
+         out.writeByte((int) (value | 0x80));
+         value >>>= 7;
+      
+      }
+   
+      out.writeByte((int) value);
+   
+   }
+
+   /**
+    *
+    * Reads an unsigned varint from a buffer.
+    *
+    * @param buffer    the buffer
+    * @return          the value
+    * @throws IllegalArgumentException if the varint is longer than 64 bits
+    *
+    */
+   static long getVarint(ByteBuffer buffer)
+   {
+   
+      long result = 0;
+   
+      for (int i = 0; i < MAX_VARINT_LENGTH; i++)
+      {
+      
+         final byte b = buffer.get();
+      
+         result |= (long) (b & 0x7F) << 7 * i;
+      
+         if (b >= 0)
+         {
+         
+            return result;
+         
+         }
+      
+      }
+   
+      throw new IllegalArgumentException("varint is longer than " + MAX_VARINT_LENGTH + " bytes");
+   
+   }
+
+   /**
+    *
+    * Reads an unsigned varint from a DataInput.
+    *
+    * @param in    the input
+    * @return      the value
+    * @throws IllegalArgumentException    if the varint is longer than 64 bits
+    * @throws IOException                 if in throws it
+    *
+    */
+   private static long readVarint(DataInput in) throws IOException
+   {
+   
+      long result = 0;
+   
+      for (int i = 0; i < MAX_VARINT_LENGTH; i++)
+      {
+      
+         final byte b = in.readByte();
+      
+         result |= (long) (b & 0x7F) << 7 * i;
+      
+         if (b >= 0)
+         {
+         
+            return result;
+         
+         }
+      
+      }
+   
+      throw new IllegalArgumentException("varint is longer than " + MAX_VARINT_LENGTH + " bytes");
+   
+   }
+
+   /**
+    *
+    * Checks the length of the bytes of a BigInteger.
+    *
+    * @param length    the length that was read
+    * @return          the length as an int
+    * @throws IllegalArgumentException if the length is 0 or too big for a BigInteger
+    *
+    */
+   private static int checkLength(long length)
+   {
+   
+      if (length <= 0 || length > MAX_BYTE_LENGTH)
+      {
+      
+         throw new IllegalArgumentException("invalid byte length " + length);
+      
+      }
+   
+      return (int) length;
+   
+   }
+
+   /**
+    *
+    * Reads the two's complement bytes of a BigInteger from a buffer.
+    *
+    * @param buffer    the buffer
+    * @param length    the number of bytes
+    * @return          the value
+    * @throws IllegalArgumentException    if the length is not valid
+    * @throws BufferUnderflowException    if the buffer has fewer bytes left than that
+    *
+    */
+   private static BigInteger getBigInteger(ByteBuffer buffer, long length)
+   {
+   
+      final int checked = checkLength(length);
+   
+      if (buffer.remaining() < checked)
+      {
+      
+         throw new BufferUnderflowException();
+      
+      }
+   
+      if (buffer.hasArray())
+      {
+      
+         final BigInteger result = new BigInteger(buffer.array(), buffer.arrayOffset() + buffer.position(), checked);
+      
+         buffer.position(buffer.position() + checked);
+      
+         return result;
+      
+      }
+   
+      final byte[] bytes = new byte[checked];
+   
+      buffer.get(bytes);
+   
+      return new BigInteger(bytes);
+   
+   }
+
+   /**
+    *
+    * Reads the two's complement bytes of a BigInteger from a DataInput.
+    *
+    * @param in        the input
+    * @param length    the number of bytes
+    * @return          the value
+    * @throws IllegalArgumentException    if the length is not valid
+    * @throws IOException                 if in throws it
+    *
+    */
+   private static BigInteger readBigInteger(DataInput in, long length) throws IOException
+   {
+   
+      final int checked = checkLength(length);
+   
+      //unlike a buffer, a stream cannot say up front how much is left, so double the array as it fills
+      byte[] bytes = new byte[Math.min(checked, READ_CHUNK_SIZE)];
+      int read = 0;
+   
+      while (true)
+      {
+      
+         in.readFully(bytes, read, bytes.length - read);
+         read = bytes.length;
+      
+         if (read == checked)
+         {
+         
+            return new BigInteger(bytes);
+         
+         }
+      
+         bytes = Arrays.copyOf(bytes, (int) Math.min(checked, 2L * read));
+      
+      }
+   
+   }
+
+}
\ No newline at end of file
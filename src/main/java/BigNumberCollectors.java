@@ -0,0 +1,121 @@
+import java.util.stream.Collector;
+
+/**
+ *
+ * Collectors for streams of BigNumbers.
+ *
+ * Reducing with BigNumber::add creates and simplifies a new BigNumber for every element. These collectors
+ * instead keep a mutable {@link BigNumberAccumulator} per thread, which only simplifies once in a while, and
+ * merge the partial results once at the end, so that parallel streams actually spread the work out.
+ *
+ */
+public final class BigNumberCollectors
+{
+
+   /**
+    *
+    * This class only has static methods.
+    *
+    */
+   private BigNumberCollectors()
+   {
+   
+      throw new AssertionError("no instances");
+   
+   }
+
+   /**
+    *
+    * Merges the right statistics into the left ones.
+    *
+    * @param left       the statistics to merge into
+    * @param right      the statistics to merge
+    * @return           left
+    *
+    */
+   private static BigNumberSummaryStatistics combine(BigNumberSummaryStatistics left, BigNumberSummaryStatistics right)
+   {
+   
+      left.combine(right);
+   
+      return left;
+   
+   }
+
+   /**
+    *
+    * Returns a Collector that adds up the elements, giving 0 if there are none.
+    *
+    * @return     the Collector.
+    *
+    */
+   public static Collector<BigNumber, ?, BigNumber> summing()
+   {
+   
+      return Collector.of(
+         BigNumberAccumulator::new,
+         BigNumberAccumulator::add,
+         (left, right) -> left.add(right.get()),
+         BigNumberAccumulator::get,
+         Collector.Characteristics.UNORDERED);
+   
+   }
+
+   /**
+    *
+    * Returns a Collector that multiplies the elements together, giving 1 if there are none.
+    *
+    * @return     the Collector.
+    *
+    */
+   public static Collector<BigNumber, ?, BigNumber> product()
+   {
+   
+      return Collector.of(
+         () -> new BigNumberAccumulator(BigNumber.ONE),
+         BigNumberAccumulator::multiply,
+         (left, right) -> left.multiply(right.get()),
+         BigNumberAccumulator::get,
+         Collector.Characteristics.UNORDERED);
+   
+   }
+
+   /**
+    *
+    * Returns a Collector that gives the exact average of the elements, or 0 if there are none.
+    *
+    * @return     the Collector.
+    *
+    */
+   public static Collector<BigNumber, ?, BigNumber> averaging()
+   {
+   
+      return Collector.of(
+         BigNumberSummaryStatistics::new,
+         BigNumberSummaryStatistics::accept,
+         BigNumberCollectors::combine,
+         BigNumberSummaryStatistics::getAverage,
+         Collector.Characteristics.UNORDERED);
+   
+   }
+
+   /**
+    *
+    * Returns a Collector that gives the count, sum, min, max and average of the elements.
+    *
+    * @return     the Collector.
+    *
+    */
+   public static Collector<BigNumber, ?, BigNumberSummaryStatistics> summarizing()
+   {
+   
+      return Collector.of(
+         BigNumberSummaryStatistics::new,
+         BigNumberSummaryStatistics::accept,
+         BigNumberCollectors::combine,
+         Collector.Characteristics.IDENTITY_FINISH,
+         Collector.Characteristics.UNORDERED);
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,902 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ *
+ * A read only column of BigNumbers in a file, read through memory mapping, so that columns far bigger than the
+ * heap can be scanned without loading them first.
+ *
+ * A column is two files. The payload file holds every value back to back in the {@link BigNumberCodec} format.
+ * The index file, named after the payload file plus ".index", holds the big-endian long offset in the payload file
+ * where each value ends, so value i covers the bytes from the end of value i - 1 up to the end of value i. Both files
+ * are mapped in segments of up to 1 GiB, since a single mapping cannot be bigger than 2 GiB.
+ *
+ * {@link #get(long)} reads any value, and is safe to call from many threads. A {@link Cursor} walks the values in
+ * order, and reads the numerator and denominator of small values without creating any objects at all. A
+ * {@link Writer} appends values to a column. A column only sees the values that were written before it was opened.
+ *
+ * Only a Writer puts values in the payload file, and it encodes them in lowest terms, so reads decode them with
+ * {@link BigNumberCodec#decode(ByteBuffer)}, which trusts that, rather than paying a gcd for every wide value.
+ *
+ */
+public final class BigNumberColumn
+{
+
+   /**
+    *
+    * log2 of the segment size.
+    *
+    */
+   private static final int SEGMENT_SHIFT = 30;
+
+   /**
+    *
+    * The suffix added to the name of the payload file to get the name of the index file.
+    *
+    */
+   public static final String INDEX_SUFFIX = ".index";
+
+   /**
+    *
+    * The number of bytes per index entry.
+    *
+    */
+   private static final int ENTRY_SIZE = Long.BYTES;
+
+   /**
+    *
+    * log2 of the segment size of this column, which is a constructor parameter so that tests can use small segments.
+    *
+    */
+   private final int segmentShift;
+
+   /**
+    *
+    * The mapped segments of the payload file.
+    *
+    */
+   private final MappedByteBuffer[] payload;
+
+   /**
+    *
+    * The mapped segments of the index file.
+    *
+    */
+   private final MappedByteBuffer[] index;
+
+   /**
+    *
+    * The size of the payload file.
+    *
+    */
+   private final long payloadSize;
+
+   /**
+    *
+    * The number of values.
+    *
+    */
+   private final long size;
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param payload         the mapped segments of the payload file
+    * @param payloadSize     the size of the payload file
+    * @param index           the mapped segments of the index file
+    * @param size            the number of values
+    * @param segmentShift    log2 of the segment size
+    *
+    */
+   private BigNumberColumn(MappedByteBuffer[] payload, long payloadSize, MappedByteBuffer[] index, long size, int segmentShift)
+   {
+   
+      this.payload = payload;
+      this.payloadSize = payloadSize;
+      this.index = index;
+      this.size = size;
+      this.segmentShift = segmentShift;
+   
+   }
+
+   /**
+    *
+    * Opens a column. The files are closed again straight away, since the mappings stay valid without them.
+    *
+    * @param path    the payload file
+    * @return        the column
+    * @throws NullPointerException    if path is null
+    * @throws IOException             if either file cannot be read or mapped
+    *
+    */
+   public static BigNumberColumn open(Path path) throws IOException
+   {
+   
+      return open(path, SEGMENT_SHIFT);
+   
+   }
+
+   /**
+    *
+    * Opens a column, mapping it in segments of the given size.
+    *
+    * @param path            the payload file
+    * @param segmentShift    log2 of the segment size, which must be at least 3 and at most 30
+    * @return                the column
+    * @throws IOException if either file cannot be read or mapped
+    *
+    */
+   static BigNumberColumn open(Path path, int segmentShift) throws IOException
+   {
+   
+      Objects.requireNonNull(path, "path cannot be null");
+   
+      try (FileChannel payload = FileChannel.open(path, StandardOpenOption.READ);
+         FileChannel index = FileChannel.open(indexPath(path), StandardOpenOption.READ))
+      {
+      
+         //ignore a partly written last entry, the same as Writer does
+         final long indexSize = index.size() / ENTRY_SIZE * ENTRY_SIZE;
+      
+         final long payloadSize = payload.size();
+      
+         return new BigNumberColumn(map(payload, payloadSize, segmentShift), payloadSize, map(index, indexSize, segmentShift), indexSize / ENTRY_SIZE, segmentShift);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns the path of the index file that goes with a payload file.
+    *
+    * @param path    the payload file
+    * @return        the index file
+    * @throws NullPointerException if path is null
+    *
+    */
+   public static Path indexPath(Path path)
+   {
+   
+      return path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+   
+   }
+
+   /**
+    *
+    * Maps the start of a file in segments.
+    *
+    * @param channel         the file
+    * @param size            how much of the file to map
+    * @param segmentShift    log2 of the segment size
+    * @return                the segments
+    * @throws IOException if the file cannot be mapped
+    *
+    */
+   private static MappedByteBuffer[] map(FileChannel channel, long size, int segmentShift) throws IOException
+   {
+   
+      final long segmentSize = 1L << segmentShift;
+      final MappedByteBuffer[] result = new MappedByteBuffer[Math.toIntExact((size + segmentSize - 1) >>> segmentShift)];
+   
+      for (int i = 0; i < result.length; i++)
+      {
+      
+         final long start = (long) i << segmentShift;
+      
+         result[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Getter for the number of values.
+    *
+    * @return    the number of values
+    *
+    */
+   public long size()
+   {
+   
+      return this.size;
+   
+   }
+
+   /**
+    *
+    * Reads one value.
+    *
+    * @param i    the index of the value
+    * @return     the value
+    * @throws IndexOutOfBoundsException    if i is out of range
+    * @throws IllegalArgumentException     if the file does not hold a valid value there
+    *
+    */
+   public BigNumber get(long i)
+   {
+   
+      Objects.checkIndex(i, this.size);
+   
+      //not decodeChecked, see the class comment
+      final ByteBuffer bytes = this.bytes(this.start(i), this.end(i));
+      final BigNumber result = BigNumberCodec.decode(bytes);
+   
+      if (bytes.hasRemaining())
+      {
+      
+         throw new IllegalArgumentException("value " + i + " is shorter than its index entry says");
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Returns a cursor positioned before the first value.
+    *
+    * @return    the cursor
+    *
+    */
+   public Cursor cursor()
+   {
+   
+      return new Cursor();
+   
+   }
+
+   /**
+    *
+    * Returns the payload offset where a value starts.
+    *
+    * @param i    the index of the value
+    * @return     the offset
+    *
+    */
+   private long start(long i)
+   {
+   
+      return i == 0 ? 0 : this.end(i - 1);
+   
+   }
+
+   /**
+    *
+    * Returns the payload offset where a value ends.
+    *
+    * @param i    the index of the value
+    * @return     the offset
+    *
+    */
+   private long end(long i)
+   {
+   
+      final long position = i * ENTRY_SIZE;
+   
+      return this.index[(int) (position >>> this.segmentShift)].getLong((int) (position & (1L << this.segmentShift) - 1));
+   
+   }
+
+   /**
+    *
+    * Returns the payload bytes from start to end, as a view of a segment, or as a copy if they cross segments.
+    *
+    * @param start    the offset of the first byte
+    * @param end      the offset after the last byte
+    * @return         the bytes, from the position to the limit
+    * @throws IllegalArgumentException if the range is not inside the payload file
+    *
+    */
+   private ByteBuffer bytes(long start, long end)
+   {
+   
+      if (start < 0 || end <= start || end > this.payloadSize)
+      {
+      
+         throw new IllegalArgumentException("index entry points outside of the payload file");
+      
+      }
+   
+      final long mask = (1L << this.segmentShift) - 1;
+      final int segment = (int) (start >>> this.segmentShift);
+   
+      if ((end - 1) >>> this.segmentShift == segment)
+      {
+      
+         return this.payload[segment].slice((int) (start & mask), (int) (end - start));
+      
+      }
+   
+      final byte[] copy = new byte[Math.toIntExact(end - start)];
+   
+      for (int copied = 0; copied < copy.length;)
+      {
+      
+         final long position = start + copied;
+         final ByteBuffer source = this.payload[(int) (position >>> this.segmentShift)];
+         final int offset = (int) (position & mask);
+         final int length = Math.min(copy.length - copied, source.capacity() - offset);
+      
+         source.get(offset, copy, copied, length);
+         copied += length;
+      
+      }
+   
+      return ByteBuffer.wrap(copy);
+   
+   }
+
+   /**
+    *
+    * Walks the values of a column in order. Small values, the ones with a numerator under 2^61 and a denominator
+    * that fits in a long, can be read as longs without creating any objects, and any value can be read as a
+    * BigNumber. Cursors are not safe to share between threads.
+    *
+    */
+   public final class Cursor
+   {
+
+      /**
+       *
+       * The index of the current value, or -1 before the first.
+       *
+       */
+      private long current = -1;
+
+      /**
+       *
+       * The payload offset where the current value starts.
+       *
+       */
+      private long start;
+
+      /**
+       *
+       * The payload offset where the current value ends.
+       *
+       */
+      private long end;
+
+      /**
+       *
+       * Whether the current value is small.
+       *
+       */
+      private boolean small;
+
+      /**
+       *
+       * The numerator of the current value, if it is small.
+       *
+       */
+      private long numerator;
+
+      /**
+       *
+       * The denominator of the current value, if it is small.
+       *
+       */
+      private long denominator;
+
+      /**
+       *
+       * The segment the current value is in, or null before the first value.
+       *
+       */
+      private ByteBuffer segment;
+
+      /**
+       *
+       * The number of the segment in {@link #segment}.
+       *
+       */
+      private int segmentNumber = -1;
+
+      /**
+       *
+       * Constructor.
+       *
+       */
+      Cursor()
+      {
+      
+      }
+
+      /**
+       *
+       * Moves to the next value.
+       *
+       * @return    true if there was a next value, or false if the cursor is past the end
+       * @throws IllegalArgumentException if the file does not hold a valid value there
+       *
+       */
+      public boolean next()
+      {
+      
+         if (this.current + 1 >= BigNumberColumn.this.size)
+         {
+         
+            this.current = BigNumberColumn.this.size;
+         
+            return false;
+         
+         }
+      
+         this.current++;
+         this.start = this.end;
+         this.end = BigNumberColumn.this.end(this.current);
+      
+         final int segment = (int) (this.start >>> BigNumberColumn.this.segmentShift);
+         final ByteBuffer bytes;
+      
+         if (this.end > this.start && this.end <= BigNumberColumn.this.payloadSize && this.end - 1 >>> BigNumberColumn.this.segmentShift == segment)
+         {
+         
+            //one duplicate per segment rather than one slice per value, so that small values allocate nothing
+            if (segment != this.segmentNumber)
+            {
+            
+               this.segment = BigNumberColumn.this.payload[segment].duplicate();
+               this.segmentNumber = segment;
+            
+            }
+         
+            final int offset = (int) (this.start & (1L << BigNumberColumn.this.segmentShift) - 1);
+         
+            bytes = this.segment.limit(offset + (int) (this.end - this.start)).position(offset);
+         
+         }
+      
+         else
+         {
+         
+            bytes = BigNumberColumn.this.bytes(this.start, this.end);
+         
+         }
+      
+         final long header = BigNumberCodec.getVarint(bytes);
+         final int kind = (int) header & 3;
+      
+         this.small = kind == BigNumberCodec.INTEGER || kind == BigNumberCodec.FRACTION;
+      
+         if (this.small)
+         {
+         
+            this.numerator = BigNumberCodec.unzigzag(header >>> 2);
+            this.denominator = kind == BigNumberCodec.INTEGER ? 1 : BigNumberCodec.getVarint(bytes);
+         
+            if (this.denominator <= 0 || bytes.hasRemaining())
+            {
+            
+               throw new IllegalArgumentException("value " + this.current + " is not a valid encoding");
+            
+            }
+         
+         }
+      
+         return true;
+      
+      }
+
+      /**
+       *
+       * Getter for the index of the current value.
+       *
+       * @return    the index, -1 before the first value, or the size of the column after the last
+       *
+       */
+      public long getIndex()
+      {
+      
+         return this.current;
+      
+      }
+
+      /**
+       *
+       * Returns true if the current value is small, and so can be read with {@link #getSmallNumerator()} and
+       * {@link #getSmallDenominator()}.
+       *
+       * @return    boolean result
+       * @throws NoSuchElementException if the cursor is not on a value
+       *
+       */
+      public boolean isSmall()
+      {
+      
+         this.requireCurrent();
+      
+         return this.small;
+      
+      }
+
+      /**
+       *
+       * Getter for the numerator of the current value, which must be small.
+       *
+       * @return    the numerator
+       * @throws NoSuchElementException    if the cursor is not on a value
+       * @throws IllegalStateException     if the current value is not small
+       *
+       */
+      public long getSmallNumerator()
+      {
+      
+         this.requireSmall();
+      
+         return this.numerator;
+      
+      }
+
+      /**
+       *
+       * Getter for the denominator of the current value, which must be small. The fraction is not necessarily in
+       * lowest terms, if the file was not written by a {@link Writer}.
+       *
+       * @return    the denominator, which is always positive
+       * @throws NoSuchElementException    if the cursor is not on a value
+       * @throws IllegalStateException     if the current value is not small
+       *
+       */
+      public long getSmallDenominator()
+      {
+      
+         this.requireSmall();
+      
+         return this.denominator;
+      
+      }
+
+      /**
+       *
+       * Reads the current value as a BigNumber.
+       *
+       * @return    the value
+       * @throws NoSuchElementException      if the cursor is not on a value
+       * @throws IllegalArgumentException    if the file does not hold a valid value there
+       *
+       */
+      public BigNumber get()
+      {
+      
+         this.requireCurrent();
+      
+         return this.small ? BigNumber.valueOf(this.numerator, this.denominator) : BigNumberColumn.this.get(this.current);
+      
+      }
+
+      /**
+       *
+       * Throws if the cursor is not on a value.
+       *
+       * @throws NoSuchElementException if the cursor is not on a value
+       *
+       */
+      private void requireCurrent()
+      {
+      
+         if (this.current < 0 || this.current >= BigNumberColumn.this.size)
+         {
+         
+            throw new NoSuchElementException("cursor is not on a value");
+         
+         }
+      
+      }
+
+      /**
+       *
+       * Throws if the cursor is not on a small value.
+       *
+       * @throws NoSuchElementException    if the cursor is not on a value
+       * @throws IllegalStateException     if the current value is not small
+       *
+       */
+      private void requireSmall()
+      {
+      
+         if (!this.isSmall())
+         {
+         
+            throw new IllegalStateException("value " + this.current + " is not small");
+         
+         }
+      
+      }
+
+   }
+
+   /**
+    *
+    * Appends values to a column, creating its files if they do not exist. Values are buffered, and only reach the
+    * files on {@link #flush()} or {@link #close()}. The payload always gets written before the index, and a
+    * Writer cuts both files back to the last complete index entry whose payload is all there when it opens, so a
+    * crash part way through a write loses the values that were not flushed yet, but never leaves the column
+    * unreadable.
+    *
+    * Writers are not safe to share between threads, and only one Writer should have a column open at a time.
+    *
+    */
+   public static final class Writer implements Closeable
+   {
+
+      /**
+       *
+       * The size of each write buffer.
+       *
+       */
+      private static final int BUFFER_SIZE = 1 << 16;
+
+      /**
+       *
+       * The payload file.
+       *
+       */
+      private final FileChannel payloadChannel;
+
+      /**
+       *
+       * The index file.
+       *
+       */
+      private final FileChannel indexChannel;
+
+      /**
+       *
+       * Payload bytes that have not been written yet.
+       *
+       */
+      private final ByteBuffer payload = ByteBuffer.allocate(BUFFER_SIZE);
+
+      /**
+       *
+       * Index entries that have not been written yet.
+       *
+       */
+      private final ByteBuffer index = ByteBuffer.allocate(BUFFER_SIZE);
+
+      /**
+       *
+       * The payload offset where the next value will start.
+       *
+       */
+      private long offset;
+
+      /**
+       *
+       * The number of values in the column, including the ones that were not flushed yet.
+       *
+       */
+      private long size;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param path    the payload file
+       * @throws NullPointerException    if path is null
+       * @throws IOException             if either file cannot be opened
+       *
+       */
+      public Writer(Path path) throws IOException
+      {
+      
+         Objects.requireNonNull(path, "path cannot be null");
+      
+         this.payloadChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      
+         try
+         {
+         
+            this.indexChannel = FileChannel.open(indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+         
+         }
+      
+         catch (IOException | RuntimeException e)
+         {
+         
+            this.payloadChannel.close();
+         
+            throw e;
+         
+         }
+      
+         this.size = this.indexChannel.size() / ENTRY_SIZE;
+      
+         final long payloadSize = this.payloadChannel.size();
+      
+         //the index can get ahead of the payload if the files were not synced in order, so drop every entry at the
+         //end that points past the payload, or that cannot be a real offset at all
+         while (this.size > 0)
+         {
+         
+            final long end = readEntry(this.indexChannel, this.size - 1);
+         
+            if (end > 0 && end <= payloadSize)
+            {
+            
+               this.offset = end;
+            
+               break;
+            
+            }
+         
+            this.size--;
+         
+         }
+      
+         this.indexChannel.truncate(this.size * ENTRY_SIZE);
+         this.indexChannel.position(this.size * ENTRY_SIZE);
+         this.payloadChannel.truncate(this.offset);
+         this.payloadChannel.position(this.offset);
+      
+      }
+
+      /**
+       *
+       * Getter for the number of values in the column, including the ones that were not flushed yet.
+       *
+       * @return    the number of values
+       *
+       */
+      public long size()
+      {
+      
+         return this.size;
+      
+      }
+
+      /**
+       *
+       * Appends a value.
+       *
+       * @param value    the value
+       * @return         this
+       * @throws NullPointerException    if value is null
+       * @throws IOException             if a full buffer could not be written
+       *
+       */
+      public Writer append(BigNumber value) throws IOException
+      {
+      
+         final int length = BigNumberCodec.encodedLength(value);
+      
+         if (length > this.payload.remaining() || !this.index.hasRemaining())
+         {
+         
+            this.flush();
+         
+         }
+      
+         if (length > this.payload.capacity())
+         {
+         
+            writeFully(this.payloadChannel, ByteBuffer.wrap(BigNumberCodec.encode(value)));
+         
+         }
+      
+         else
+         {
+         
+            BigNumberCodec.encode(value, this.payload);
+         
+         }
+      
+         this.offset += length;
+         this.size++;
+         this.index.putLong(this.offset);
+      
+         return this;
+      
+      }
+
+      /**
+       *
+       * Writes every buffered value to the files, payload first.
+       *
+       * @throws IOException if either file cannot be written
+       *
+       */
+      public void flush() throws IOException
+      {
+      
+         writeFully(this.payloadChannel, this.payload.flip());
+         this.payload.clear();
+         writeFully(this.indexChannel, this.index.flip());
+         this.index.clear();
+      
+      }
+
+      /**
+       *
+       * Flushes, and closes the files.
+       *
+       * @throws IOException if either file cannot be written or closed
+       *
+       */
+      public void close() throws IOException
+      {
+      
+         try (FileChannel payloadChannel = this.payloadChannel; FileChannel indexChannel = this.indexChannel)
+         {
+         
+            if (payloadChannel.isOpen() && indexChannel.isOpen())
+            {
+            
+               this.flush();
+            
+            }
+         
+         }
+      
+      }
+
+      /**
+       *
+       * Writes all of a buffer to a file.
+       *
+       * @param channel    the file
+       * @param buffer     the buffer
+       * @throws IOException if the file cannot be written
+       *
+       */
+      private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+      {
+      
+         while (buffer.hasRemaining())
+         {
+         
+            channel.write(buffer);
+         
+         }
+      
+      }
+
+      /**
+       *
+       * Reads an entry from an index file.
+       *
+       * @param channel    the index file
+       * @param i          the index of the entry
+       * @return           the payload offset in the entry
+       * @throws IOException if the file cannot be read, or is too short
+       *
+       */
+      private static long readEntry(FileChannel channel, long i) throws IOException
+      {
+      
+         final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+      
+         while (entry.hasRemaining())
+         {
+         
+            if (channel.read(entry, i * ENTRY_SIZE + entry.position()) < 0)
+            {
+            
+               throw new EOFException("index file shrank while opening it");
+            
+            }
+         
+         }
+      
+         return entry.getLong(0);
+      
+      }
+
+   }
+
+}
\ No newline at end of file
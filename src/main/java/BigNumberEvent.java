@@ -0,0 +1,238 @@
+import java.math.BigInteger;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ *
+ * A Java Flight Recorder event for a BigNumber add, multiply, divide, or simplify that ran on BigIntegers, and
+ * either had an operand or result at least as wide as a bit threshold, or took at least as long as a duration
+ * threshold. The thresholds come from the BigNumber.jfr.bitThreshold system property, 4096 bits by default, and
+ * the BigNumber.jfr.durationThreshold system property, 1000000 nanoseconds by default.
+ *
+ * Operations that stay on longs never get an event, and when no recording has the event enabled, the only cost
+ * is one short lived event object and one isEnabled() check per operation. Nothing touches JFR metadata until an
+ * event is actually created.
+ *
+ */
+@Name("BigNumber.Operation")
+@Label("BigNumber Operation")
+@Category("BigNumber")
+@Description("A BigNumber operation with wide operands, or that took a long time")
+final class BigNumberEvent extends Event
+{
+
+   /**
+    *
+    * The operand or result bit length at which an operation gets an event, however long it took.
+    *
+    */
+   private static final int BIT_THRESHOLD = Integer.getInteger("BigNumber.jfr.bitThreshold", 4096);
+
+   /**
+    *
+    * The run time, in nanoseconds, at which an operation gets an event, however wide its operands are.
+    *
+    */
+   private static final long DURATION_THRESHOLD = Long.getLong("BigNumber.jfr.durationThreshold", 1_000_000L);
+
+   /**
+    *
+    * The operation, one of add, multiply, divide, or simplify.
+    *
+    */
+   @Label("Operation")
+   private final String operation;
+
+   /**
+    *
+    * The bit length of the numerator of the left operand.
+    *
+    */
+   @Label("Left Numerator Bits")
+   private int leftNumeratorBits;
+
+   /**
+    *
+    * The bit length of the denominator of the left operand.
+    *
+    */
+   @Label("Left Denominator Bits")
+   private int leftDenominatorBits;
+
+   /**
+    *
+    * The bit length of the numerator of the right operand, 0 for simplify.
+    *
+    */
+   @Label("Right Numerator Bits")
+   private int rightNumeratorBits;
+
+   /**
+    *
+    * The bit length of the denominator of the right operand, 0 for simplify.
+    *
+    */
+   @Label("Right Denominator Bits")
+   private int rightDenominatorBits;
+
+   /**
+    *
+    * The bit length of the numerator of the result.
+    *
+    */
+   @Label("Result Numerator Bits")
+   private int resultNumeratorBits;
+
+   /**
+    *
+    * The bit length of the denominator of the result.
+    *
+    */
+   @Label("Result Denominator Bits")
+   private int resultDenominatorBits;
+
+   /**
+    *
+    * How long the operation took.
+    *
+    */
+   @Label("Elapsed")
+   @Timespan(Timespan.NANOSECONDS)
+   private long elapsed;
+
+   /**
+    *
+    * System.nanoTime() when the operation started.
+    *
+    */
+   private transient long start;
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param operation    the operation
+    *
+    */
+   private BigNumberEvent(String operation)
+   {
+   
+      this.operation = operation;
+   
+   }
+
+   /**
+    *
+    * Starts timing an operation.
+    *
+    * @param operation    the operation
+    * @return             the event, or null if no recording has it enabled
+    *
+    */
+   static BigNumberEvent begin(String operation)
+   {
+   
+      final BigNumberEvent event = new BigNumberEvent(operation);
+   
+      if (!event.isEnabled())
+      {
+      
+         return null;
+      
+      }
+   
+      event.start = System.nanoTime();
+      event.begin();
+   
+      return event;
+   
+   }
+
+   /**
+    *
+    * Finishes timing an operation on two BigNumbers, and commits the event if it passed either threshold.
+    *
+    * @param event     the event from {@link #begin(String)}, possibly null
+    * @param left      the left operand
+    * @param right     the right operand
+    * @param result    the result
+    * @return          result
+    *
+    */
+   static BigNumber end(BigNumberEvent event, BigNumber left, BigNumber right, BigNumber result)
+   {
+   
+      if (event != null)
+      {
+      
+         event.rightNumeratorBits = right.getNumerator().bitLength();
+         event.rightDenominatorBits = right.getDenominator().bitLength();
+         event.finish(left.getNumerator(), left.getDenominator(), result);
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Finishes timing an operation on a numerator and denominator, and commits the event if it passed either threshold.
+    *
+    * @param event          the event from {@link #begin(String)}, possibly null
+    * @param numerator      the numerator operand
+    * @param denominator    the denominator operand
+    * @param result         the result
+    * @return               result
+    *
+    */
+   static BigNumber end(BigNumberEvent event, BigInteger numerator, BigInteger denominator, BigNumber result)
+   {
+   
+      if (event != null)
+      {
+      
+         event.finish(numerator, denominator, result);
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Fills in the rest of the event, and commits it if it passed either threshold.
+    *
+    * @param numerator      the numerator of the left operand
+    * @param denominator    the denominator of the left operand
+    * @param result         the result
+    *
+    */
+   private void finish(BigInteger numerator, BigInteger denominator, BigNumber result)
+   {
+   
+      this.end();
+      this.elapsed = System.nanoTime() - this.start;
+      this.leftNumeratorBits = numerator.bitLength();
+      this.leftDenominatorBits = denominator.bitLength();
+      this.resultNumeratorBits = result.getNumerator().bitLength();
+      this.resultDenominatorBits = result.getDenominator().bitLength();
+   
+      final int widest = Math.max(Math.max(Math.max(this.leftNumeratorBits, this.leftDenominatorBits), Math.max(this.rightNumeratorBits, this.rightDenominatorBits)),
+         Math.max(this.resultNumeratorBits, this.resultDenominatorBits));
+   
+      if ((widest >= BIT_THRESHOLD || this.elapsed >= DURATION_THRESHOLD) && this.shouldCommit())
+      {
+      
+         this.commit();
+      
+      }
+   
+   }
+
+}
\ No newline at end of file
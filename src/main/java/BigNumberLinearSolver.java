@@ -0,0 +1,302 @@
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * Solves square systems of linear equations A x = b exactly.
+ *
+ * Plain Gaussian elimination on BigNumbers runs gcds on ever growing fractions at every step. Instead, each
+ * equation is multiplied through by the lcm of its denominators once, and the resulting integer system is solved
+ * with Bareiss' fraction free elimination. Every division in it is exact, the intermediate values stay as small
+ * as the minors of the matrix, and no gcd runs until the answers are turned back into BigNumbers. The row updates
+ * of each elimination step are independent of each other, so large systems spread them across the common ForkJoinPool.
+ *
+ * This lives next to BigNumber rather than in a package of its own, since BigNumber is in the unnamed package.
+ *
+ */
+public final class BigNumberLinearSolver
+{
+
+   /**
+    *
+    * The number of rows left to update below which an elimination step stays on the current thread.
+    *
+    */
+   private static final int PARALLEL_THRESHOLD = 32;
+
+   /**
+    *
+    * This class only has static methods.
+    *
+    */
+   private BigNumberLinearSolver()
+   {
+   
+      throw new AssertionError("no instances");
+   
+   }
+
+   /**
+    *
+    * Solves A x = b.
+    *
+    * @param a    the n by n matrix of coefficients, as an array of rows.
+    * @param b    the n right hand side values.
+    * @return     the n unknowns, in lowest terms.
+    * @throws NullPointerException        if a, b, or any of their rows or values are null
+    * @throws IllegalArgumentException    if a is not square, b does not match it, or a is singular
+    *
+    */
+   public static BigNumber[] solve(BigNumber[][] a, BigNumber[] b)
+   {
+   
+      Objects.requireNonNull(a, "a cannot be null");
+      Objects.requireNonNull(b, "b cannot be null");
+   
+      final int n = a.length;
+   
+      if (b.length != n)
+      {
+      
+         throw new IllegalArgumentException("b must have one value per row of a");
+      
+      }
+   
+      if (n == 0)
+      {
+      
+         return new BigNumber[0];
+      
+      }
+   
+      //each equation times the lcm of its denominators, with b as the last column
+      final BigInteger[][] matrix = new BigInteger[n][];
+   
+      for (int i = 0; i < n; i++)
+      {
+      
+         final BigNumber[] row = Objects.requireNonNull(a[i], "a cannot contain null rows");
+      
+         if (row.length != n)
+         {
+         
+            throw new IllegalArgumentException("a must be square");
+         
+         }
+      
+         final BigNumber[] equation = new BigNumber[n + 1];
+      
+         System.arraycopy(row, 0, equation, 0, n);
+         equation[n] = b[i];
+      
+         matrix[i] = new BigInteger[n + 1];
+      
+         clearDenominators(equation, matrix[i], 0);
+      
+      }
+   
+      if (eliminate(matrix).signum() == 0)
+      {
+      
+         throw new IllegalArgumentException("matrix is singular");
+      
+      }
+   
+      return backSubstitute(matrix)[0];
+   
+   }
+
+   /**
+    *
+    * Multiplies a row of BigNumbers through by the lcm of their denominators.
+    *
+    * Since the values are in lowest terms, the resulting numerators share no factor with the lcm.
+    *
+    * @param row           the row
+    * @param numerators    where to write the numerators over the lcm
+    * @param offset        the index in numerators of the first one
+    * @return              the lcm
+    * @throws NullPointerException if row contains null
+    *
+    */
+   static BigInteger clearDenominators(BigNumber[] row, BigInteger[] numerators, int offset)
+   {
+   
+      BigInteger lcm = BigInteger.ONE;
+   
+      for (BigNumber value : row)
+      {
+      
+         final BigInteger denominator = Objects.requireNonNull(value, "values cannot be null").getDenominator();
+      
+         if (!denominator.equals(BigInteger.ONE))
+         {
+         
+            lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+         
+         }
+      
+      }
+   
+      for (int j = 0; j < row.length; j++)
+      {
+      
+         final BigInteger denominator = row[j].getDenominator();
+      
+         numerators[offset + j] = denominator.equals(lcm) ? row[j].getNumerator() : row[j].getNumerator().multiply(lcm.divide(denominator));
+      
+      }
+   
+      return lcm;
+   
+   }
+
+   /**
+    *
+    * Runs Bareiss' fraction free elimination on the first n columns of an n row integer matrix, in place,
+    * applying the same steps to any extra columns on the right.
+    *
+    * Afterwards, the first n columns are upper triangular, and the last pivot is the determinant, up to sign.
+    * Rows get swapped whenever a pivot is 0.
+    *
+    * @param matrix    the rows, each with at least n columns
+    * @return          the determinant of the first n columns, or 0 if they are singular, in which case
+    *                  the matrix is left partly eliminated
+    *
+    */
+   static BigInteger eliminate(BigInteger[][] matrix)
+   {
+   
+      final int n = matrix.length;
+   
+      BigInteger previousPivot = BigInteger.ONE;
+      boolean negate = false;
+   
+      for (int k = 0; k < n; k++)
+      {
+      
+         int pivotRow = k;
+      
+         while (pivotRow < n && matrix[pivotRow][k].signum() == 0)
+         {
+         
+            pivotRow++;
+         
+         }
+      
+         if (pivotRow == n)
+         {
+         
+            return BigInteger.ZERO;
+         
+         }
+      
+         if (pivotRow != k)
+         {
+         
+            final BigInteger[] temp = matrix[k];
+            matrix[k] = matrix[pivotRow];
+            matrix[pivotRow] = temp;
+            negate = !negate;
+         
+         }
+      
+         final int step = k;
+         final BigInteger divisor = previousPivot;
+         final IntStream rows = IntStream.range(k + 1, n);
+      
+         (n - k - 1 < PARALLEL_THRESHOLD ? rows : rows.parallel()).forEach(i -> updateRow(matrix, step, i, divisor));
+      
+         previousPivot = matrix[k][k];
+      
+      }
+   
+      return negate ? previousPivot.negate() : previousPivot;
+   
+   }
+
+   /**
+    *
+    * One Bareiss update of a row below the pivot. By Sylvester's identity, the division by the previous pivot is always exact.
+    *
+    * @param matrix     the rows
+    * @param k          the pivot row and column
+    * @param i          the row to update
+    * @param divisor    the previous pivot
+    *
+    */
+   private static void updateRow(BigInteger[][] matrix, int k, int i, BigInteger divisor)
+   {
+   
+      final BigInteger[] pivotRow = matrix[k];
+      final BigInteger[] row = matrix[i];
+      final BigInteger pivot = pivotRow[k];
+      final BigInteger factor = row[k];
+   
+      for (int j = k + 1; j < row.length; j++)
+      {
+      
+         final BigInteger updated = row[j].multiply(pivot).subtract(factor.multiply(pivotRow[j]));
+      
+         row[j] = divisor.equals(BigInteger.ONE) ? updated : updated.divide(divisor);
+      
+      }
+   
+      row[k] = BigInteger.ZERO;
+   
+   }
+
+   /**
+    *
+    * Solves an eliminated matrix for each of the columns to the right of the first n.
+    *
+    * With d as the last pivot, d * x is a vector of integers (Cramer's rule), so the back substitution runs on
+    * those integers with exact divisions, and only the final x = (d * x) / d needs a gcd.
+    *
+    * @param matrix    the rows, after {@link #eliminate(BigInteger[][])} found them non singular
+    * @return          one solution vector per extra column
+    *
+    */
+   static BigNumber[][] backSubstitute(BigInteger[][] matrix)
+   {
+   
+      final int n = matrix.length;
+      final int columns = matrix[0].length;
+      final BigInteger lastPivot = matrix[n - 1][n - 1];
+      final BigNumber[][] result = new BigNumber[columns - n][];
+   
+      final IntStream rightHandSides = IntStream.range(n, columns);
+   
+      (columns - n < 2 ? rightHandSides : rightHandSides.parallel()).forEach(c ->
+      {
+      
+         final BigInteger[] scaled = new BigInteger[n];
+         final BigNumber[] solution = new BigNumber[n];
+      
+         for (int i = n - 1; i >= 0; i--)
+         {
+         
+            BigInteger sum = lastPivot.multiply(matrix[i][c]);
+         
+            for (int j = i + 1; j < n; j++)
+            {
+            
+               sum = sum.subtract(matrix[i][j].multiply(scaled[j]));
+            
+            }
+         
+            scaled[i] = sum.divide(matrix[i][i]);
+            solution[i] = new BigNumber(scaled[i], lastPivot);
+         
+         }
+      
+         result[c - n] = solution;
+      
+      });
+   
+      return result;
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,795 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * An immutable, dense matrix of BigNumbers.
+ *
+ * A BigNumber[][] costs a separate object, and a pointer to chase, for every cell, and multiplying two of them
+ * runs a gcd for every single multiply and add. Instead, each row here is kept as one common denominator
+ * plus a flat array of BigInteger numerators, in lowest terms as a whole. Products and transposes then run on plain
+ * BigIntegers, and only reduce each output cell once, against the common denominator of its row. Large products are
+ * split into blocks of output cells across the common ForkJoinPool.
+ *
+ */
+public final class BigNumberMatrix
+{
+
+   /**
+    *
+    * The number of rows, and of columns, in a block of output cells computed by one task.
+    *
+    */
+   private static final int BLOCK = 32;
+
+   /**
+    *
+    * The number of rows.
+    *
+    */
+   private final int rows;
+
+   /**
+    *
+    * The number of columns.
+    *
+    */
+   private final int columns;
+
+   /**
+    *
+    * The numerators, row by row, rows * columns in all.
+    *
+    */
+   private final BigInteger[] numerators;
+
+   /**
+    *
+    * The positive common denominator of each row. It shares no factor with all of the numerators of its row.
+    *
+    */
+   private final BigInteger[] denominators;
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param values    the cells, as an array of rows.
+    * @throws NullPointerException        if values, or any of its rows or cells are null
+    * @throws IllegalArgumentException    if values is empty, or its rows are empty or not all the same length
+    *
+    */
+   public BigNumberMatrix(BigNumber[][] values)
+   {
+   
+      Objects.requireNonNull(values, "values cannot be null");
+   
+      if (values.length == 0 || Objects.requireNonNull(values[0], "values cannot contain null rows").length == 0)
+      {
+      
+         throw new IllegalArgumentException("values cannot be empty");
+      
+      }
+   
+      this.rows = values.length;
+      this.columns = values[0].length;
+      this.numerators = new BigInteger[this.rows * this.columns];
+      this.denominators = new BigInteger[this.rows];
+   
+      for (int i = 0; i < this.rows; i++)
+      {
+      
+         final BigNumber[] row = Objects.requireNonNull(values[i], "values cannot contain null rows");
+      
+         if (row.length != this.columns)
+         {
+         
+            throw new IllegalArgumentException("rows must all be the same length");
+         
+         }
+      
+         this.denominators[i] = BigNumberLinearSolver.clearDenominators(row, this.numerators, i * this.columns);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Constructor for values that are already in this class' form.
+    *
+    * @param rows            the number of rows
+    * @param columns         the number of columns
+    * @param numerators      the numerators, row by row
+    * @param denominators    the common denominator of each row, in lowest terms with its numerators
+    *
+    */
+   private BigNumberMatrix(int rows, int columns, BigInteger[] numerators, BigInteger[] denominators)
+   {
+   
+      this.rows = rows;
+      this.columns = columns;
+      this.numerators = numerators;
+      this.denominators = denominators;
+   
+   }
+
+   /**
+    *
+    * Returns the n by n identity matrix.
+    *
+    * @param n    the number of rows and columns
+    * @return     the identity matrix
+    * @throws IllegalArgumentException if n is less than 1
+    *
+    */
+   public static BigNumberMatrix identity(int n)
+   {
+   
+      if (n < 1)
+      {
+      
+         throw new IllegalArgumentException("n must be at least 1");
+      
+      }
+   
+      final BigInteger[] numerators = new BigInteger[n * n];
+      final BigInteger[] denominators = new BigInteger[n];
+   
+      Arrays.fill(numerators, BigInteger.ZERO);
+      Arrays.fill(denominators, BigInteger.ONE);
+   
+      for (int i = 0; i < n; i++)
+      {
+      
+         numerators[i * n + i] = BigInteger.ONE;
+      
+      }
+   
+      return new BigNumberMatrix(n, n, numerators, denominators);
+   
+   }
+
+   /**
+    *
+    * Getter for the number of rows.
+    *
+    * @return    the number of rows
+    *
+    */
+   public int getRowCount()
+   {
+   
+      return this.rows;
+   
+   }
+
+   /**
+    *
+    * Getter for the number of columns.
+    *
+    * @return    the number of columns
+    *
+    */
+   public int getColumnCount()
+   {
+   
+      return this.columns;
+   
+   }
+
+   /**
+    *
+    * Returns a single cell.
+    *
+    * @param row       the row of the cell
+    * @param column    the column of the cell
+    * @return          the cell, in lowest terms
+    * @throws IndexOutOfBoundsException if row or column is out of range
+    *
+    */
+   public BigNumber get(int row, int column)
+   {
+   
+      Objects.checkIndex(row, this.rows);
+      Objects.checkIndex(column, this.columns);
+   
+      return new BigNumber(this.numerators[row * this.columns + column], this.denominators[row]);
+   
+   }
+
+   /**
+    *
+    * Returns all of the cells.
+    *
+    * @return    a new array of rows
+    *
+    */
+   public BigNumber[][] toArray()
+   {
+   
+      final BigNumber[][] result = new BigNumber[this.rows][this.columns];
+   
+      for (int i = 0; i < this.rows; i++)
+      {
+      
+         for (int j = 0; j < this.columns; j++)
+         {
+         
+            result[i][j] = this.get(i, j);
+         
+         }
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Multiplies this matrix by another one.
+    *
+    * Every row of other gets scaled to the lcm of its denominators up front. Each output cell is then an integer
+    * dot product over the product of two denominators, and each output row gets reduced once at the end.
+    *
+    * @param other    the matrix on the right of the product
+    * @return         this * other
+    * @throws NullPointerException        if other is null
+    * @throws IllegalArgumentException    if other has a different number of rows than this has columns
+    *
+    */
+   public BigNumberMatrix multiply(BigNumberMatrix other)
+   {
+   
+      Objects.requireNonNull(other, "other cannot be null");
+   
+      if (other.rows != this.columns)
+      {
+      
+         throw new IllegalArgumentException("other must have as many rows as this has columns");
+      
+      }
+   
+      final BigInteger lcm = lcm(other.denominators);
+      final BigInteger[] right = scaleRows(other.numerators, other.denominators, other.columns, lcm);
+      final BigInteger[] product = new BigInteger[this.rows * other.columns];
+      final MultiplyTask task = new MultiplyTask(this.numerators, right, product, this.columns, other.columns, 0, this.rows, 0, other.columns);
+   
+      if (this.rows <= BLOCK && other.columns <= BLOCK)
+      {
+      
+         task.compute();
+      
+      }
+   
+      else
+      {
+      
+         ForkJoinPool.commonPool().invoke(task);
+      
+      }
+   
+      final BigInteger[] denominators = new BigInteger[this.rows];
+   
+      for (int i = 0; i < this.rows; i++)
+      {
+      
+         denominators[i] = lcm.equals(BigInteger.ONE) ? this.denominators[i] : this.denominators[i].multiply(lcm);
+      
+      }
+   
+      return reduceRows(this.rows, other.columns, product, denominators);
+   
+   }
+
+   /**
+    *
+    * Returns the transpose of this matrix.
+    *
+    * @return    the matrix with the rows and columns of this one swapped
+    *
+    */
+   public BigNumberMatrix transpose()
+   {
+   
+      final BigInteger lcm = lcm(this.denominators);
+      final BigInteger[] scaled = scaleRows(this.numerators, this.denominators, this.columns, lcm);
+      final BigInteger[] transposed = new BigInteger[scaled.length];
+   
+      for (int i = 0; i < this.rows; i++)
+      {
+      
+         for (int j = 0; j < this.columns; j++)
+         {
+         
+            transposed[j * this.rows + i] = scaled[i * this.columns + j];
+         
+         }
+      
+      }
+   
+      final BigInteger[] denominators = new BigInteger[this.columns];
+   
+      Arrays.fill(denominators, lcm);
+   
+      return reduceRows(this.columns, this.rows, transposed, denominators);
+   
+   }
+
+   /**
+    *
+    * Returns the determinant of this matrix, using Bareiss' fraction free elimination on the numerators.
+    *
+    * @return    the determinant
+    * @throws IllegalArgumentException if this matrix is not square
+    *
+    */
+   public BigNumber determinant()
+   {
+   
+      this.requireSquare();
+   
+      final BigInteger[][] matrix = new BigInteger[this.rows][];
+      BigInteger denominator = BigInteger.ONE;
+   
+      for (int i = 0; i < this.rows; i++)
+      {
+      
+         matrix[i] = Arrays.copyOfRange(this.numerators, i * this.columns, (i + 1) * this.columns);
+         denominator = denominator.multiply(this.denominators[i]);
+      
+      }
+   
+      return new BigNumber(BigNumberLinearSolver.eliminate(matrix), denominator);
+   
+   }
+
+   /**
+    *
+    * Returns the inverse of this matrix.
+    *
+    * With D as the diagonal matrix of row denominators and N as the numerators, this matrix is D^-1 * N, so its
+    * inverse is the solution X of N * X = D, which is found by one fraction free elimination of [N | D].
+    *
+    * @return    the inverse
+    * @throws IllegalArgumentException if this matrix is not square, or is singular
+    *
+    */
+   public BigNumberMatrix inverse()
+   {
+   
+      this.requireSquare();
+   
+      final int n = this.rows;
+      final BigInteger[][] matrix = new BigInteger[n][];
+   
+      for (int i = 0; i < n; i++)
+      {
+      
+         matrix[i] = Arrays.copyOf(Arrays.copyOfRange(this.numerators, i * n, (i + 1) * n), 2 * n);
+      
+         Arrays.fill(matrix[i], n, 2 * n, BigInteger.ZERO);
+         matrix[i][n + i] = this.denominators[i];
+      
+      }
+   
+      if (BigNumberLinearSolver.eliminate(matrix).signum() == 0)
+      {
+      
+         throw new IllegalArgumentException("matrix is singular");
+      
+      }
+   
+      final BigNumber[][] solutions = BigNumberLinearSolver.backSubstitute(matrix);
+      final BigNumber[][] result = new BigNumber[n][n];
+   
+      for (int i = 0; i < n; i++)
+      {
+      
+         for (int j = 0; j < n; j++)
+         {
+         
+            result[i][j] = solutions[j][i];
+         
+         }
+      
+      }
+   
+      return new BigNumberMatrix(result);
+   
+   }
+
+   /**
+    *
+    * Throws if this matrix is not square.
+    *
+    * @throws IllegalArgumentException if this matrix is not square
+    *
+    */
+   private void requireSquare()
+   {
+   
+      if (this.rows != this.columns)
+      {
+      
+         throw new IllegalArgumentException("matrix must be square");
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Returns the lcm of some positive values.
+    *
+    * @param values    the values
+    * @return          their lcm
+    *
+    */
+   private static BigInteger lcm(BigInteger[] values)
+   {
+   
+      BigInteger lcm = BigInteger.ONE;
+   
+      for (BigInteger value : values)
+      {
+      
+         if (!value.equals(BigInteger.ONE))
+         {
+         
+            lcm = lcm.divide(lcm.gcd(value)).multiply(value);
+         
+         }
+      
+      }
+   
+      return lcm;
+   
+   }
+
+   /**
+    *
+    * Rewrites the numerators of each row over a common multiple of all of the row denominators.
+    *
+    * @param numerators      the numerators, row by row
+    * @param denominators    the denominator of each row
+    * @param columns         the number of columns
+    * @param lcm             a common multiple of all of the denominators
+    * @return                the rewritten numerators, or numerators itself if none of them change
+    *
+    */
+   private static BigInteger[] scaleRows(BigInteger[] numerators, BigInteger[] denominators, int columns, BigInteger lcm)
+   {
+   
+      if (lcm.equals(BigInteger.ONE))
+      {
+      
+         return numerators;
+      
+      }
+   
+      final BigInteger[] result = numerators.clone();
+   
+      for (int i = 0; i < denominators.length; i++)
+      {
+      
+         if (!denominators[i].equals(lcm))
+         {
+         
+            final BigInteger factor = lcm.divide(denominators[i]);
+         
+            for (int j = i * columns; j < (i + 1) * columns; j++)
+            {
+            
+               result[j] = result[j].multiply(factor);
+            
+            }
+         
+         }
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Builds a matrix after dividing each row by the gcd of its numerators and denominator, in place.
+    *
+    * @param rows            the number of rows
+    * @param columns         the number of columns
+    * @param numerators      the numerators, row by row
+    * @param denominators    the positive denominator of each row
+    * @return                the matrix
+    *
+    */
+   private static BigNumberMatrix reduceRows(int rows, int columns, BigInteger[] numerators, BigInteger[] denominators)
+   {
+   
+      final IntStream indexes = IntStream.range(0, rows);
+   
+      (rows * columns < BLOCK * BLOCK ? indexes : indexes.parallel()).forEach(i ->
+      {
+      
+         BigInteger gcd = denominators[i];
+      
+         for (int j = i * columns; j < (i + 1) * columns && !gcd.equals(BigInteger.ONE); j++)
+         {
+         
+            gcd = gcd.gcd(numerators[j]);
+         
+         }
+      
+         if (!gcd.equals(BigInteger.ONE))
+         {
+         
+            denominators[i] = denominators[i].divide(gcd);
+         
+            for (int j = i * columns; j < (i + 1) * columns; j++)
+            {
+            
+               numerators[j] = numerators[j].divide(gcd);
+            
+            }
+         
+         }
+      
+      });
+   
+      return new BigNumberMatrix(rows, columns, numerators, denominators);
+   
+   }
+
+   /** {@inheritDoc} */
+   public boolean equals(Object obj)
+   {
+   
+      if (this == obj)
+      {
+      
+         return true;
+      
+      }
+   
+      if (!(obj instanceof BigNumberMatrix))
+      {
+      
+         return false;
+      
+      }
+   
+      final BigNumberMatrix other = (BigNumberMatrix) obj;
+   
+      return this.rows == other.rows
+         && this.columns == other.columns
+         && Arrays.equals(this.denominators, other.denominators)
+         && Arrays.equals(this.numerators, other.numerators);
+   
+   }
+
+   /** {@inheritDoc} */
+   public int hashCode()
+   {
+   
+      return 31 * (31 * this.columns + Arrays.hashCode(this.denominators)) + Arrays.hashCode(this.numerators);
+   
+   }
+
+   /** {@inheritDoc} */
+   public String toString()
+   {
+   
+      return Arrays.deepToString(this.toArray());
+   
+   }
+
+   /**
+    *
+    * Computes a block of the cells of an integer matrix product, splitting it in half until it is at most
+    * {@link #BLOCK} by {@link #BLOCK}. Each block walks the shared dimension in strips of {@link #BLOCK}, so the
+    * rows of the right hand matrix it reads stay in cache across all of the rows of the block.
+    *
+    */
+   private static final class MultiplyTask extends RecursiveAction
+   {
+
+      /**
+       *
+       * Serialization version, required since RecursiveAction is Serializable.
+       *
+       */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       *
+       * The left hand numerators, row by row.
+       *
+       */
+      private final BigInteger[] left;
+
+      /**
+       *
+       * The right hand numerators, row by row.
+       *
+       */
+      private final BigInteger[] right;
+
+      /**
+       *
+       * Where to write the products, row by row.
+       *
+       */
+      private final BigInteger[] product;
+
+      /**
+       *
+       * The number of columns of left, and rows of right.
+       *
+       */
+      private final int inner;
+
+      /**
+       *
+       * The number of columns of right, and of product.
+       *
+       */
+      private final int columns;
+
+      /**
+       *
+       * The first row of the block.
+       *
+       */
+      private final int rowFrom;
+
+      /**
+       *
+       * The row after the last one of the block.
+       *
+       */
+      private final int rowTo;
+
+      /**
+       *
+       * The first column of the block.
+       *
+       */
+      private final int columnFrom;
+
+      /**
+       *
+       * The column after the last one of the block.
+       *
+       */
+      private final int columnTo;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param left          the left hand numerators
+       * @param right         the right hand numerators
+       * @param product       where to write the products
+       * @param inner         the number of columns of left
+       * @param columns       the number of columns of right
+       * @param rowFrom       the first row of the block
+       * @param rowTo         the row after the last one of the block
+       * @param columnFrom    the first column of the block
+       * @param columnTo      the column after the last one of the block
+       *
+       */
+      MultiplyTask(BigInteger[] left, BigInteger[] right, BigInteger[] product, int inner, int columns, int rowFrom, int rowTo, int columnFrom, int columnTo)
+      {
+      
+         this.left = left;
+         this.right = right;
+         this.product = product;
+         this.inner = inner;
+         this.columns = columns;
+         this.rowFrom = rowFrom;
+         this.rowTo = rowTo;
+         this.columnFrom = columnFrom;
+         this.columnTo = columnTo;
+      
+      }
+
+      /** {@inheritDoc} */
+      protected void compute()
+      {
+      
+         final int height = this.rowTo - this.rowFrom;
+         final int width = this.columnTo - this.columnFrom;
+      
+         if (height <= BLOCK && width <= BLOCK)
+         {
+         
+            this.multiplyBlock();
+         
+         }
+      
+         else if (height >= width)
+         {
+         
+            final int middle = (this.rowFrom + this.rowTo) >>> 1;
+         
+            invokeAll(new MultiplyTask(this.left, this.right, this.product, this.inner, this.columns, this.rowFrom, middle, this.columnFrom, this.columnTo),
+               new MultiplyTask(this.left, this.right, this.product, this.inner, this.columns, middle, this.rowTo, this.columnFrom, this.columnTo));
+         
+         }
+      
+         else
+         {
+         
+            final int middle = (this.columnFrom + this.columnTo) >>> 1;
+         
+            invokeAll(new MultiplyTask(this.left, this.right, this.product, this.inner, this.columns, this.rowFrom, this.rowTo, this.columnFrom, middle),
+               new MultiplyTask(this.left, this.right, this.product, this.inner, this.columns, this.rowFrom, this.rowTo, middle, this.columnTo));
+         
+         }
+      
+      }
+
+      /**
+       *
+       * Computes every cell of this block directly, skipping the zero cells of left.
+       *
+       */
+      private void multiplyBlock()
+      {
+      
+         for (int i = this.rowFrom; i < this.rowTo; i++)
+         {
+         
+            Arrays.fill(this.product, i * this.columns + this.columnFrom, i * this.columns + this.columnTo, BigInteger.ZERO);
+         
+         }
+      
+         for (int strip = 0; strip < this.inner; strip += BLOCK)
+         {
+         
+            final int stripEnd = Math.min(strip + BLOCK, this.inner);
+         
+            for (int i = this.rowFrom; i < this.rowTo; i++)
+            {
+            
+               for (int k = strip; k < stripEnd; k++)
+               {
+               
+                  final BigInteger value = this.left[i * this.inner + k];
+               
+                  if (value.signum() != 0)
+                  {
+                  
+                     for (int j = this.columnFrom; j < this.columnTo; j++)
+                     {
+                     
+                        final BigInteger other = this.right[k * this.columns + j];
+                     
+                        if (other.signum() != 0)
+                        {
+                        
+                           this.product[i * this.columns + j] = this.product[i * this.columns + j].add(value.multiply(other));
+                        
+                        }
+                     
+                     }
+                  
+                  }
+               
+               }
+            
+            }
+         
+         }
+      
+      }
+
+   }
+
+}
\ No newline at end of file
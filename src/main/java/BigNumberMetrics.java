@@ -0,0 +1,592 @@
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ *
+ * Opt-in counters for BigNumber arithmetic, to tell whether fractions are growing out of control.
+ *
+ * Metrics are off unless the BigNumber.metrics system property is true when this class loads. The flag is a
+ * static final, so with metrics off the JIT folds every recording call in BigNumber away. With metrics on, this
+ * counts operations by type, counts the gcds that BigNumber and BigNumberAccumulator run and how many of them
+ * found a common factor, and keeps histograms of the bit lengths of result numerators and denominators. They can
+ * be read through {@link #snapshot()}, or over JMX as the MXBean {@value #OBJECT_NAME}.
+ *
+ * Bucket 0 of each histogram counts bit length 0, and bucket i counts bit lengths from 2^(i - 1) up to 2^i - 1.
+ *
+ */
+public final class BigNumberMetrics
+{
+
+   /**
+    *
+    * Whether metrics are being recorded, from the BigNumber.metrics system property.
+    *
+    */
+   static final boolean ENABLED = Boolean.getBoolean("BigNumber.metrics");
+
+   /**
+    *
+    * The name the MXBean gets registered under.
+    *
+    */
+   public static final String OBJECT_NAME = "BigNumber:type=Metrics";
+
+   /**
+    *
+    * The number of buckets in each bit length histogram, enough for any int bit length.
+    *
+    */
+   public static final int BUCKETS = Integer.SIZE + 1;
+
+   /**
+    *
+    * The kinds of operation that get counted.
+    *
+    */
+   public enum Operation
+   {
+
+      ADD,
+      SUBTRACT,
+      MULTIPLY,
+      DIVIDE,
+      POW,
+      FMA,
+      DOT,
+      SIMPLIFY
+
+   }
+
+   /**
+    *
+    * The count of each operation, by ordinal.
+    *
+    */
+   private static final LongAdder[] OPERATIONS = adders(Operation.values().length);
+
+   /**
+    *
+    * The number of gcds run.
+    *
+    */
+   private static final LongAdder GCDS = new LongAdder();
+
+   /**
+    *
+    * The number of gcds run that were not 1.
+    *
+    */
+   private static final LongAdder NON_TRIVIAL_GCDS = new LongAdder();
+
+   /**
+    *
+    * The histogram of result numerator bit lengths.
+    *
+    */
+   private static final LongAdder[] NUMERATOR_BITS = adders(BUCKETS);
+
+   /**
+    *
+    * The histogram of result denominator bit lengths.
+    *
+    */
+   private static final LongAdder[] DENOMINATOR_BITS = adders(BUCKETS);
+
+   static
+   {
+   
+      if (ENABLED)
+      {
+      
+         try
+         {
+         
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+         
+         }
+      
+         catch (JMException e)
+         {
+         
+            //another class loader got there first, which leaves the snapshot API still working
+         
+         }
+      
+      }
+   
+   }
+
+   /**
+    *
+    * This class only has static methods.
+    *
+    */
+   private BigNumberMetrics()
+   {
+   
+      throw new AssertionError("no instances");
+   
+   }
+
+   /**
+    *
+    * Getter for whether metrics are being recorded.
+    *
+    * @return    true if the BigNumber.metrics system property was true when this class loaded
+    *
+    */
+   public static boolean isEnabled()
+   {
+   
+      return ENABLED;
+   
+   }
+
+   /**
+    *
+    * Returns the metrics recorded so far. Counts that are being updated concurrently may or may not be included.
+    *
+    * @return    the metrics
+    *
+    */
+   public static Snapshot snapshot()
+   {
+   
+      return new Snapshot(sums(OPERATIONS), GCDS.sum(), NON_TRIVIAL_GCDS.sum(), sums(NUMERATOR_BITS), sums(DENOMINATOR_BITS));
+   
+   }
+
+   /**
+    *
+    * Sets every metric back to 0.
+    *
+    */
+   public static void reset()
+   {
+   
+      for (LongAdder adder : OPERATIONS)
+      {
+      
+         adder.reset();
+      
+      }
+   
+      GCDS.reset();
+      NON_TRIVIAL_GCDS.reset();
+   
+      for (int i = 0; i < BUCKETS; i++)
+      {
+      
+         NUMERATOR_BITS[i].reset();
+         DENOMINATOR_BITS[i].reset();
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Counts an operation. Callers check {@link #ENABLED} first.
+    *
+    * @param operation    the operation
+    *
+    */
+   static void recordOperation(Operation operation)
+   {
+   
+      OPERATIONS[operation.ordinal()].increment();
+   
+   }
+
+   /**
+    *
+    * Counts a gcd. Callers check {@link #ENABLED} first.
+    *
+    * @param nonTrivial    whether the gcd was anything other than 1
+    *
+    */
+   static void recordGcd(boolean nonTrivial)
+   {
+   
+      GCDS.increment();
+   
+      if (nonTrivial)
+      {
+      
+         NON_TRIVIAL_GCDS.increment();
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Adds a result to the bit length histograms. Callers check {@link #ENABLED} first.
+    *
+    * @param numeratorBits      the bit length of the numerator
+    * @param denominatorBits    the bit length of the denominator
+    *
+    */
+   static void recordResult(int numeratorBits, int denominatorBits)
+   {
+   
+      NUMERATOR_BITS[bucket(numeratorBits)].increment();
+      DENOMINATOR_BITS[bucket(denominatorBits)].increment();
+   
+   }
+
+   /**
+    *
+    * Returns the histogram bucket for a bit length.
+    *
+    * @param bitLength    the bit length
+    * @return             the bucket
+    *
+    */
+   static int bucket(int bitLength)
+   {
+   
+      return Integer.SIZE - Integer.numberOfLeadingZeros(bitLength);
+   
+   }
+
+   /**
+    *
+    * Makes an array of new LongAdders.
+    *
+    * @param length    the length of the array
+    * @return          the array
+    *
+    */
+   private static LongAdder[] adders(int length)
+   {
+   
+      final LongAdder[] result = new LongAdder[length];
+   
+      for (int i = 0; i < length; i++)
+      {
+      
+         result[i] = new LongAdder();
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Sums each of an array of LongAdders.
+    *
+    * @param adders    the adders
+    * @return          their sums
+    *
+    */
+   private static long[] sums(LongAdder[] adders)
+   {
+   
+      final long[] result = new long[adders.length];
+   
+      for (int i = 0; i < adders.length; i++)
+      {
+      
+         result[i] = adders[i].sum();
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * The metrics as seen over JMX.
+    *
+    */
+   public interface MetricsMXBean
+   {
+
+      /**
+       *
+       * Returns the count of each operation, by name.
+       *
+       * @return    the counts
+       *
+       */
+      Map<String, Long> getOperationCounts();
+
+      /**
+       *
+       * Returns the number of gcds run.
+       *
+       * @return    the number of gcds
+       *
+       */
+      long getGcdCount();
+
+      /**
+       *
+       * Returns the number of gcds run that were not 1.
+       *
+       * @return    the number of non trivial gcds
+       *
+       */
+      long getNonTrivialGcdCount();
+
+      /**
+       *
+       * Returns the histogram of result numerator bit lengths.
+       *
+       * @return    the count in each bucket
+       *
+       */
+      long[] getNumeratorBitLengths();
+
+      /**
+       *
+       * Returns the histogram of result denominator bit lengths.
+       *
+       * @return    the count in each bucket
+       *
+       */
+      long[] getDenominatorBitLengths();
+
+      /**
+       *
+       * Sets every metric back to 0.
+       *
+       */
+      void reset();
+
+   }
+
+   /**
+    *
+    * The MXBean, which reads a fresh snapshot for every attribute.
+    *
+    */
+   private static final class Bean implements MetricsMXBean
+   {
+
+      /** {@inheritDoc} */
+      public Map<String, Long> getOperationCounts()
+      {
+      
+         final Snapshot snapshot = snapshot();
+         final Map<String, Long> result = new LinkedHashMap<>();
+      
+         for (Operation operation : Operation.values())
+         {
+         
+            result.put(operation.name(), snapshot.getCount(operation));
+         
+         }
+      
+         return result;
+      
+      }
+
+      /** {@inheritDoc} */
+      public long getGcdCount()
+      {
+      
+         return GCDS.sum();
+      
+      }
+
+      /** {@inheritDoc} */
+      public long getNonTrivialGcdCount()
+      {
+      
+         return NON_TRIVIAL_GCDS.sum();
+      
+      }
+
+      /** {@inheritDoc} */
+      public long[] getNumeratorBitLengths()
+      {
+      
+         return sums(NUMERATOR_BITS);
+      
+      }
+
+      /** {@inheritDoc} */
+      public long[] getDenominatorBitLengths()
+      {
+      
+         return sums(DENOMINATOR_BITS);
+      
+      }
+
+      /** {@inheritDoc} */
+      public void reset()
+      {
+      
+         BigNumberMetrics.reset();
+      
+      }
+
+   }
+
+   /**
+    *
+    * The metrics at one point in time.
+    *
+    */
+   public static final class Snapshot
+   {
+
+      /**
+       *
+       * The count of each operation, by ordinal.
+       *
+       */
+      private final long[] operations;
+
+      /**
+       *
+       * The number of gcds run.
+       *
+       */
+      private final long gcds;
+
+      /**
+       *
+       * The number of gcds run that were not 1.
+       *
+       */
+      private final long nonTrivialGcds;
+
+      /**
+       *
+       * The histogram of result numerator bit lengths.
+       *
+       */
+      private final long[] numeratorBits;
+
+      /**
+       *
+       * The histogram of result denominator bit lengths.
+       *
+       */
+      private final long[] denominatorBits;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param operations         the count of each operation, by ordinal
+       * @param gcds               the number of gcds run
+       * @param nonTrivialGcds     the number of gcds run that were not 1
+       * @param numeratorBits      the histogram of result numerator bit lengths
+       * @param denominatorBits    the histogram of result denominator bit lengths
+       *
+       */
+      Snapshot(long[] operations, long gcds, long nonTrivialGcds, long[] numeratorBits, long[] denominatorBits)
+      {
+      
+         this.operations = operations;
+         this.gcds = gcds;
+         this.nonTrivialGcds = nonTrivialGcds;
+         this.numeratorBits = numeratorBits;
+         this.denominatorBits = denominatorBits;
+      
+      }
+
+      /**
+       *
+       * Returns the count of an operation.
+       *
+       * @param operation    the operation
+       * @return             the count
+       * @throws NullPointerException if operation is null
+       *
+       */
+      public long getCount(Operation operation)
+      {
+      
+         return this.operations[operation.ordinal()];
+      
+      }
+
+      /**
+       *
+       * Getter for the number of gcds run.
+       *
+       * @return    the number of gcds
+       *
+       */
+      public long getGcdCount()
+      {
+      
+         return this.gcds;
+      
+      }
+
+      /**
+       *
+       * Getter for the number of gcds run that were not 1.
+       *
+       * @return    the number of non trivial gcds
+       *
+       */
+      public long getNonTrivialGcdCount()
+      {
+      
+         return this.nonTrivialGcds;
+      
+      }
+
+      /**
+       *
+       * Returns the histogram of result numerator bit lengths.
+       *
+       * @return    a new array with the count in each of the {@link #BUCKETS} buckets
+       *
+       */
+      public long[] getNumeratorBitLengths()
+      {
+      
+         return this.numeratorBits.clone();
+      
+      }
+
+      /**
+       *
+       * Returns the histogram of result denominator bit lengths.
+       *
+       * @return    a new array with the count in each of the {@link #BUCKETS} buckets
+       *
+       */
+      public long[] getDenominatorBitLengths()
+      {
+      
+         return this.denominatorBits.clone();
+      
+      }
+
+      /** {@inheritDoc} */
+      public String toString()
+      {
+      
+         final Map<Operation, Long> counts = new EnumMap<>(Operation.class);
+      
+         for (Operation operation : Operation.values())
+         {
+         
+            counts.put(operation, this.getCount(operation));
+         
+         }
+      
+         return counts + ", gcds " + this.gcds + " (" + this.nonTrivialGcds + " non trivial)";
+      
+      }
+
+   }
+
+}
\ No newline at end of file
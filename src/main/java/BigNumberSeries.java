@@ -0,0 +1,353 @@
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ *
+ * Sums truncated power series exactly, using binary splitting.
+ *
+ * Adding a series up one term at a time with BigNumber.add means every partial sum carries a denominator as big as
+ * all of the terms so far, so the total work grows quadratically. When each term is a rational multiple of the
+ * one before it, binary splitting instead combines the terms as a balanced tree of plain BigInteger products,
+ * so the operands on both sides of each multiply stay about the same size, and only runs a single gcd at the end.
+ * Large term counts are split across the common ForkJoinPool.
+ *
+ */
+public final class BigNumberSeries
+{
+
+   /**
+    *
+    * The number of terms below which a range is summed on the current thread instead of being split into tasks.
+    *
+    */
+   public static final int PARALLEL_THRESHOLD = 2048;
+
+   /**
+    *
+    * The number of terms below which a range is summed in a plain loop instead of being split further.
+    *
+    */
+   private static final int LOOP_THRESHOLD = 8;
+
+   /**
+    *
+    * The ratio between consecutive terms of a series, term(k) / term(k - 1) == numerator(k) / denominator(k).
+    *
+    * For example, exp(u / v) has the ratio (u) / (k * v), and ln(1 + u / v) has the ratio (-u * k) / (v * (k + 1)).
+    *
+    */
+   public interface TermRatio
+   {
+
+      /**
+       *
+       * Returns the numerator of term(k) / term(k - 1).
+       *
+       * @param k    the index of the term, starting from 1
+       * @return     the numerator
+       *
+       */
+      BigInteger numerator(int k);
+
+      /**
+       *
+       * Returns the denominator of term(k) / term(k - 1).
+       *
+       * @param k    the index of the term, starting from 1
+       * @return     the denominator, which cannot be 0
+       *
+       */
+      BigInteger denominator(int k);
+
+   }
+
+   /**
+    *
+    * This class only has static methods.
+    *
+    */
+   private BigNumberSeries()
+   {
+   
+      throw new AssertionError("no instances");
+   
+   }
+
+   /**
+    *
+    * Sums the first few terms of a series, term(0) + term(1) + ... + term(terms - 1).
+    *
+    * @param firstTerm     term(0).
+    * @param ratio         the ratio between consecutive terms.
+    * @param terms         how many terms to sum.
+    * @return              the exact sum, in lowest terms.
+    * @throws NullPointerException        if firstTerm or ratio is null, or ratio returns null
+    * @throws IllegalArgumentException    if terms is negative, or ratio returns a denominator of 0
+    *
+    */
+   public static BigNumber sum(BigNumber firstTerm, TermRatio ratio, int terms)
+   {
+   
+      Objects.requireNonNull(firstTerm, "firstTerm cannot be null");
+      Objects.requireNonNull(ratio, "ratio cannot be null");
+   
+      if (terms < 0)
+      {
+      
+         throw new IllegalArgumentException("terms cannot be negative");
+      
+      }
+   
+      if (terms == 0)
+      {
+      
+         return BigNumber.ZERO;
+      
+      }
+   
+      if (terms == 1)
+      {
+      
+         return firstTerm;
+      
+      }
+   
+      final Splitting splitting = terms - 1 < PARALLEL_THRESHOLD
+         ? split(ratio, 1, terms)
+         : ForkJoinPool.commonPool().invoke(new SplitTask(ratio, 1, terms));
+   
+      //1 + T / Q, with the sign and common factors sorted out by the constructor's single gcd
+      final BigNumber sum = new BigNumber(splitting.q.add(splitting.t), splitting.q);
+   
+      return sum.multiply(firstTerm);
+   
+   }
+
+   /**
+    *
+    * Sums the range [from, to) on the current thread.
+    *
+    * @param ratio      the ratio between consecutive terms
+    * @param from       the first index of the range
+    * @param to         the index after the last one in the range
+    * @return           the combined range
+    *
+    */
+   private static Splitting split(TermRatio ratio, int from, int to)
+   {
+   
+      if (to - from < LOOP_THRESHOLD)
+      {
+      
+         return loop(ratio, from, to);
+      
+      }
+   
+      final int middle = (from + to) >>> 1;
+   
+      return split(ratio, from, middle).combine(split(ratio, middle, to));
+   
+   }
+
+   /**
+    *
+    * Sums a short range [from, to) one term at a time.
+    *
+    * @param ratio      the ratio between consecutive terms
+    * @param from       the first index of the range
+    * @param to         the index after the last one in the range
+    * @return           the combined range
+    *
+    */
+   private static Splitting loop(TermRatio ratio, int from, int to)
+   {
+   
+      Splitting result = leaf(ratio, from);
+   
+      for (int k = from + 1; k < to; k++)
+      {
+      
+         result = result.combine(leaf(ratio, k));
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Returns the range [k, k + 1), where P == T == numerator(k) and Q == denominator(k).
+    *
+    * @param ratio      the ratio between consecutive terms
+    * @param k          the index of the term
+    * @return           the range holding just that term
+    *
+    */
+   private static Splitting leaf(TermRatio ratio, int k)
+   {
+   
+      final BigInteger numerator = Objects.requireNonNull(ratio.numerator(k), "ratio numerator cannot be null");
+      final BigInteger denominator = Objects.requireNonNull(ratio.denominator(k), "ratio denominator cannot be null");
+   
+      if (denominator.signum() == 0)
+      {
+      
+         throw new IllegalArgumentException("ratio denominator cannot be 0, at k = " + k);
+      
+      }
+   
+      return new Splitting(numerator, denominator, numerator);
+   
+   }
+
+   /**
+    *
+    * A summed range [from, to) of the series, relative to term(from - 1).
+    *
+    * P and Q are the products of the ratio numerators and denominators over the range, so term(to - 1) is
+    * term(from - 1) * P / Q, and the terms of the range add up to term(from - 1) * T / Q.
+    *
+    */
+   private static final class Splitting
+   {
+
+      /**
+       *
+       * The product of the ratio numerators.
+       *
+       */
+      final BigInteger p;
+
+      /**
+       *
+       * The product of the ratio denominators.
+       *
+       */
+      final BigInteger q;
+
+      /**
+       *
+       * The sum of the terms, over Q.
+       *
+       */
+      final BigInteger t;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param p    the product of the ratio numerators
+       * @param q    the product of the ratio denominators
+       * @param t    the sum of the terms, over Q
+       *
+       */
+      Splitting(BigInteger p, BigInteger q, BigInteger t)
+      {
+      
+         this.p = p;
+         this.q = q;
+         this.t = t;
+      
+      }
+
+      /**
+       *
+       * Combines this range with the one right after it.
+       *
+       * The terms of the right range are relative to the last term of this one, so they get scaled by P / Q.
+       *
+       * @param right   the range right after this one
+       * @return        the combined range
+       *
+       */
+      Splitting combine(Splitting right)
+      {
+      
+         return new Splitting(this.p.multiply(right.p), this.q.multiply(right.q), this.t.multiply(right.q).add(this.p.multiply(right.t)));
+      
+      }
+
+   }
+
+   /**
+    *
+    * Sums a range across the ForkJoinPool, splitting it in half until it drops below {@link #PARALLEL_THRESHOLD}.
+    *
+    */
+   private static final class SplitTask extends RecursiveTask<Splitting>
+   {
+
+      /**
+       *
+       * Serialization version, required since RecursiveTask is Serializable.
+       *
+       */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       *
+       * The ratio between consecutive terms.
+       *
+       */
+      private final transient TermRatio ratio;
+
+      /**
+       *
+       * The first index of the range.
+       *
+       */
+      private final int from;
+
+      /**
+       *
+       * The index after the last one in the range.
+       *
+       */
+      private final int to;
+
+      /**
+       *
+       * Constructor.
+       *
+       * @param ratio      the ratio between consecutive terms
+       * @param from       the first index of the range
+       * @param to         the index after the last one in the range
+       *
+       */
+      SplitTask(TermRatio ratio, int from, int to)
+      {
+      
+         this.ratio = ratio;
+         this.from = from;
+         this.to = to;
+      
+      }
+
+      /** {@inheritDoc} */
+      protected Splitting compute()
+      {
+      
+         if (this.to - this.from < PARALLEL_THRESHOLD)
+         {
+         
+            return split(this.ratio, this.from, this.to);
+         
+         }
+      
+         final int middle = (this.from + this.to) >>> 1;
+         final SplitTask left = new SplitTask(this.ratio, this.from, middle);
+      
+         left.fork();
+      
+         final Splitting right = new SplitTask(this.ratio, middle, this.to).compute();
+      
+         return left.join().combine(right);
+      
+      }
+
+   }
+
+}
\ No newline at end of file
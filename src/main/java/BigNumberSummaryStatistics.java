@@ -0,0 +1,170 @@
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ *
+ * Count, sum, min, max and average of a group of BigNumbers, like DoubleSummaryStatistics.
+ *
+ * The sum is kept in a {@link BigNumberAccumulator}, so it only gets simplified once in a while, instead of after
+ * every value. This class is not thread safe, but is built to be used with
+ * {@link BigNumberCollectors#summarizing()}, which gives every thread of a parallel stream its own instance.
+ *
+ */
+public final class BigNumberSummaryStatistics implements Consumer<BigNumber>
+{
+
+   /**
+    *
+    * The running total.
+    *
+    */
+   private final BigNumberAccumulator sum = new BigNumberAccumulator();
+
+   /**
+    *
+    * How many values have been accepted.
+    *
+    */
+   private long count;
+
+   /**
+    *
+    * The smallest value so far, or null if there have not been any.
+    *
+    */
+   private BigNumber min;
+
+   /**
+    *
+    * The largest value so far, or null if there have not been any.
+    *
+    */
+   private BigNumber max;
+
+   /**
+    *
+    * Records a new value.
+    *
+    * @param value      the value.
+    * @throws NullPointerException if value is null
+    *
+    */
+   public void accept(BigNumber value)
+   {
+   
+      Objects.requireNonNull(value, "value cannot be null");
+   
+      this.sum.add(value);
+      this.count++;
+      this.min = this.min == null || value.compareTo(this.min) < 0 ? value : this.min;
+      this.max = this.max == null || value.compareTo(this.max) > 0 ? value : this.max;
+   
+   }
+
+   /**
+    *
+    * Merges another instance into this one.
+    *
+    * @param other      the other instance.
+    * @throws NullPointerException if other is null
+    *
+    */
+   public void combine(BigNumberSummaryStatistics other)
+   {
+   
+      Objects.requireNonNull(other, "other cannot be null");
+   
+      if (other.count == 0)
+      {
+      
+         return;
+      
+      }
+   
+      this.sum.add(other.sum.get());
+      this.count += other.count;
+      this.min = this.min == null || other.min.compareTo(this.min) < 0 ? other.min : this.min;
+      this.max = this.max == null || other.max.compareTo(this.max) > 0 ? other.max : this.max;
+   
+   }
+
+   /**
+    *
+    * Returns how many values have been recorded.
+    *
+    * @return     the count.
+    *
+    */
+   public long getCount()
+   {
+   
+      return this.count;
+   
+   }
+
+   /**
+    *
+    * Returns the sum of the values, or 0 if there are none.
+    *
+    * @return     the sum.
+    *
+    */
+   public BigNumber getSum()
+   {
+   
+      return this.sum.get();
+   
+   }
+
+   /**
+    *
+    * Returns the smallest value.
+    *
+    * @return     the minimum, or null if there are no values.
+    *
+    */
+   public BigNumber getMin()
+   {
+   
+      return this.min;
+   
+   }
+
+   /**
+    *
+    * Returns the largest value.
+    *
+    * @return     the maximum, or null if there are no values.
+    *
+    */
+   public BigNumber getMax()
+   {
+   
+      return this.max;
+   
+   }
+
+   /**
+    *
+    * Returns the exact average of the values, or 0 if there are none, like DoubleSummaryStatistics.
+    *
+    * @return     the average.
+    *
+    */
+   public BigNumber getAverage()
+   {
+   
+      return this.count == 0 ? BigNumber.ZERO : this.sum.get().divide(this.count);
+   
+   }
+
+   /** {@inheritDoc} */
+   public String toString()
+   {
+   
+      return "BigNumberSummaryStatistics{count=" + this.count + ", sum=" + this.getSum() + ", min=" + this.min
+         + ", average=" + this.getAverage() + ", max=" + this.max + "}";
+   
+   }
+
+}
\ No newline at end of file
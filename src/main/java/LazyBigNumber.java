@@ -0,0 +1,448 @@
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ *
+ * An opt-in variant of {@link BigNumber} that skips simplifying after every operation.
+ *
+ * BigNumber puts every result into lowest terms straight away, which is wasted work in the middle of a long
+ * expression chain where only the final value gets read. This class carries the unreduced numerator and
+ * denominator along instead, and only simplifies when the value is observed (toString, getNumerator,
+ * getDenominator, toBigNumber, equals or hashCode), or once the denominator grows past
+ * {@link #REDUCE_THRESHOLD} bits, so that the operands do not grow without bound.
+ *
+ * This class is immutable. Simplifying only fills in a cache, and does not change the value.
+ *
+ */
+public final class LazyBigNumber
+{
+
+   /**
+    *
+    * The bit length the denominator may reach before an operation simplifies its result straight away.
+    *
+    */
+   public static final int REDUCE_THRESHOLD = 1024;
+
+   /**
+    *
+    * The numerator. Not necessarily in lowest terms.
+    *
+    * Must always contain the negative symbol if the whole "LazyBigNumber" is negative.
+    *
+    */
+   private final BigInteger numerator;
+
+   /**
+    *
+    * The denominator. Not necessarily in lowest terms.
+    *
+    * Must be strictly positive.
+    *
+    */
+   private final BigInteger denominator;
+
+   /**
+    *
+    * Whether numerator and denominator are known to be in lowest terms already, so that toBigNumber needs no gcd.
+    *
+    */
+   private final boolean lowestTerms;
+
+   /**
+    *
+    * The value in lowest terms, or null if we have not needed it yet.
+    *
+    * BigNumber is immutable, so racing threads can at worst both compute it.
+    *
+    */
+   private BigNumber reduced;
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param param the new number.
+    *
+    */
+   public LazyBigNumber(long param)
+   {
+   
+      this(BigNumber.valueOf(param));
+   
+   }
+
+   /**
+    *
+    * Constructor.
+    *
+    * @param param the new number.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public LazyBigNumber(BigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      this.numerator = param.getNumerator();
+      this.denominator = param.getDenominator();
+      this.lowestTerms = true;
+      this.reduced = param;
+   
+   }
+
+   /**
+    *
+    * Constructor for results that may or may not be in lowest terms.
+    *
+    * @param numerator        the numerator.
+    * @param denominator      the strictly positive denominator.
+    * @param lowestTerms      whether numerator and denominator are known to be in lowest terms.
+    * @param reduced          the value in lowest terms, or null if not known yet.
+    *
+    */
+   private LazyBigNumber(BigInteger numerator, BigInteger denominator, boolean lowestTerms, BigNumber reduced)
+   {
+   
+      this.numerator = numerator;
+      this.denominator = denominator;
+      this.lowestTerms = lowestTerms;
+      this.reduced = reduced;
+   
+   }
+
+   /**
+    *
+    * Creates the result of an operation, simplifying it straight away if the denominator has grown past {@link #REDUCE_THRESHOLD}.
+    *
+    * @param numerator        the numerator.
+    * @param denominator      the strictly positive denominator.
+    * @return                 the result
+    *
+    */
+   private static LazyBigNumber of(BigInteger numerator, BigInteger denominator)
+   {
+   
+      if (denominator.bitLength() > REDUCE_THRESHOLD)
+      {
+      
+         return new LazyBigNumber(BigNumber.simplify(numerator, denominator));
+      
+      }
+   
+      return new LazyBigNumber(numerator, denominator, false, null);
+   
+   }
+
+   /**
+    *
+    * Returns true if this value is already known to be in lowest terms.
+    *
+    * @return     boolean result
+    *
+    */
+   public boolean isReduced()
+   {
+   
+      return this.lowestTerms || this.reduced != null;
+   
+   }
+
+   /**
+    *
+    * Returns this value as a BigNumber, simplifying it if that has not happened yet.
+    *
+    * @return     the value in lowest terms
+    *
+    */
+   public BigNumber toBigNumber()
+   {
+   
+      BigNumber result = this.reduced;
+   
+      if (result == null)
+      {
+      
+         result = this.lowestTerms ? BigNumber.fromReduced(this.numerator, this.denominator) : BigNumber.simplify(this.numerator, this.denominator);
+         this.reduced = result;
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Returns the (signed) numerator, in lowest terms.
+    *
+    * @return     the numerator.
+    *
+    */
+   public BigInteger getNumerator()
+   {
+   
+      return this.toBigNumber().getNumerator();
+   
+   }
+
+   /**
+    *
+    * Returns the (unsigned) denominator, in lowest terms.
+    *
+    * @return     the denominator.
+    *
+    */
+   public BigInteger getDenominator()
+   {
+   
+      return this.toBigNumber().getDenominator();
+   
+   }
+
+   /**
+    *
+    * Returns an equivalent LazyBigNumber, but with the sign changed from positive to negative, or vice versa.
+    *
+    * @return     a LazyBigNumber that has had its sign flipped
+    *
+    */
+   public LazyBigNumber negate()
+   {
+   
+      final BigNumber reducedResult = this.reduced == null ? null : this.reduced.negate();
+   
+      return new LazyBigNumber(this.numerator.negate(), this.denominator, this.lowestTerms, reducedResult);
+   
+   }
+
+   /**
+    *
+    * Standard add function.
+    *
+    * @param param      the number to add.
+    * @return           The answer.
+    *
+    */
+   public LazyBigNumber add(long param)
+   {
+   
+      //adding an integer can never introduce a common factor, so the result is in lowest terms if this is, and the
+      //BigNumber for it can wait until it is needed
+      final BigInteger resultNumerator = this.numerator.add(BigInteger.valueOf(param).multiply(this.denominator));
+   
+      return new LazyBigNumber(resultNumerator, this.denominator, this.lowestTerms, null);
+   
+   }
+
+   /**
+    *
+    * Standard add function.
+    *
+    * @param param      the number to add.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public LazyBigNumber add(LazyBigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      return addFraction(this.numerator, this.denominator, param.numerator, param.denominator);
+   
+   }
+
+   /**
+    *
+    * Standard subtract function.
+    *
+    * @param param      the number to subtract from this.
+    * @return           The answer.
+    *
+    */
+   public LazyBigNumber subtract(long param)
+   {
+   
+      //same as add(long), but subtracting directly, since -Long.MIN_VALUE does not fit in a long
+      final BigInteger resultNumerator = this.numerator.subtract(BigInteger.valueOf(param).multiply(this.denominator));
+   
+      return new LazyBigNumber(resultNumerator, this.denominator, this.lowestTerms, null);
+   
+   }
+
+   /**
+    *
+    * Standard subtract function.
+    *
+    * @param param      the number to subtract from this.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public LazyBigNumber subtract(LazyBigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      return addFraction(this.numerator, this.denominator, param.numerator.negate(), param.denominator);
+   
+   }
+
+   /**
+    *
+    * Adds two fractions without simplifying the result.
+    *
+    * @param numerator1     the numerator of the left operand
+    * @param denominator1   the strictly positive denominator of the left operand
+    * @param numerator2     the numerator of the right operand
+    * @param denominator2   the strictly positive denominator of the right operand
+    * @return               the sum
+    *
+    */
+   private static LazyBigNumber addFraction(BigInteger numerator1, BigInteger denominator1, BigInteger numerator2, BigInteger denominator2)
+   {
+   
+      if (denominator1.equals(denominator2))
+      {
+      
+         return of(numerator1.add(numerator2), denominator1);
+      
+      }
+   
+      final BigInteger resultNumerator = numerator1.multiply(denominator2).add(numerator2.multiply(denominator1));
+   
+      return of(resultNumerator, denominator1.multiply(denominator2));
+   
+   }
+
+   /**
+    *
+    * Standard multiply function.
+    *
+    * @param param      the number to multiply.
+    * @return           The answer.
+    *
+    */
+   public LazyBigNumber multiply(long param)
+   {
+   
+      return of(this.numerator.multiply(BigInteger.valueOf(param)), this.denominator);
+   
+   }
+
+   /**
+    *
+    * Standard multiply function.
+    *
+    * @param param      the number to multiply.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    *
+    */
+   public LazyBigNumber multiply(LazyBigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      return of(this.numerator.multiply(param.numerator), this.denominator.multiply(param.denominator));
+   
+   }
+
+   /**
+    *
+    * Standard divide function.
+    *
+    * @param param      the number to divide this by.
+    * @return           The answer.
+    * @throws IllegalArgumentException if param == 0
+    *
+    */
+   public LazyBigNumber divide(long param)
+   {
+   
+      if (param == 0) {
+         throw new IllegalArgumentException("param cannot be 0"); }
+   
+      //keep the sign on the numerator so the denominator stays positive
+      final BigInteger divisor = BigInteger.valueOf(param);
+      final BigInteger resultNumerator = param > 0 ? this.numerator : this.numerator.negate();
+   
+      return of(resultNumerator, this.denominator.multiply(divisor.abs()));
+   
+   }
+
+   /**
+    *
+    * Standard divide function.
+    *
+    * @param param      the number to divide this by.
+    * @return           The answer.
+    * @throws NullPointerException if parameter is null
+    * @throws IllegalArgumentException if param == 0
+    *
+    */
+   public LazyBigNumber divide(LazyBigNumber param)
+   {
+   
+      Objects.requireNonNull(param, "parameter cannot be null");
+   
+      final int sign = param.numerator.signum();
+   
+      if (sign == 0) {
+         throw new IllegalArgumentException("param cannot be 0"); }
+   
+      //keep the sign on the numerator so the denominator stays positive
+      final BigInteger resultNumerator = this.numerator.multiply(sign > 0 ? param.denominator : param.denominator.negate());
+   
+      return of(resultNumerator, this.denominator.multiply(param.numerator.abs()));
+   
+   }
+
+   /**
+    *
+    * Compares the values in lowest terms, so 2/4 is equal to 1/2.
+    *
+    * @param obj  the object to compare to
+    * @return     true if obj is a LazyBigNumber with the same value
+    *
+    */
+   public boolean equals(Object obj)
+   {
+   
+      if (this == obj)
+      {
+      
+         return true;
+      
+      }
+   
+      if (!(obj instanceof LazyBigNumber))
+      {
+      
+         return false;
+      
+      }
+   
+      return this.toBigNumber().equals(((LazyBigNumber) obj).toBigNumber());
+   
+   }
+
+   /** {@inheritDoc} */
+   public int hashCode()
+   {
+   
+      return this.toBigNumber().hashCode();
+   
+   }
+
+   /** {@inheritDoc} */
+   public String toString()
+   {
+   
+      return this.toBigNumber().toString();
+   
+   }
+
+}
\ No newline at end of file
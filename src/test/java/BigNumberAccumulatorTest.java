@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberAccumulator, against the same operations chained on BigNumber.
+ *
+ */
+class BigNumberAccumulatorTest
+{
+
+   /**
+    *
+    * Returns a random fraction, sometimes small and sometimes wide. The denominators only have the prime factors 2,
+    * 3, 5 and 7, so that a running total does not grow without bound, and normalizing has factors to cancel.
+    *
+    * @param random    the source of randomness
+    * @return          the fraction
+    *
+    */
+   private static BigNumber random(Random random)
+   {
+   
+      final boolean wide = random.nextBoolean();
+      final BigInteger numerator = new BigInteger(1 + random.nextInt(wide ? 200 : 20), random);
+      BigInteger denominator = BigInteger.ONE;
+   
+      for (int prime : new int[] {2, 3, 5, 7})
+      {
+      
+         denominator = denominator.multiply(BigInteger.valueOf(prime).pow(random.nextInt(wide ? 20 : 3)));
+      
+      }
+   
+      return new BigNumber(random.nextBoolean() ? numerator : numerator.negate(), denominator);
+   
+   }
+
+   @Test
+   void matchesChainedBigNumberOperations()
+   {
+   
+      //a threshold of 1 normalizes after nearly every step, and the default one hardly ever does
+      for (int threshold : new int[] {1, 64, BigNumberAccumulator.DEFAULT_NORMALIZE_THRESHOLD})
+      {
+      
+         final Random random = new Random(5);
+         final BigNumber initial = random(random);
+         final BigNumberAccumulator accumulator = new BigNumberAccumulator(initial, threshold);
+         BigNumber expected = initial;
+      
+         for (int i = 0; i < 2000; i++)
+         {
+         
+            final BigNumber a = random(random);
+            final BigNumber b = random(random);
+         
+            switch (i % 4)
+            {
+            
+               case 0:
+                  accumulator.add(a);
+                  expected = expected.add(a);
+                  break;
+            
+               case 1:
+                  accumulator.subtract(a);
+                  expected = expected.subtract(a);
+                  break;
+            
+               case 2:
+                  accumulator.addProduct(a, b);
+                  expected = expected.add(a.multiply(b));
+                  break;
+            
+               default:
+                  //keep the total from growing too much, while still multiplying now and then
+                  final BigNumber factor = i % 100 == 3 ? BigNumber.valueOf(random.nextInt(5) - 2, 7) : BigNumber.ONE;
+            
+                  accumulator.multiply(factor);
+                  expected = expected.multiply(factor);
+                  break;
+            
+            }
+         
+            if (i % 97 == 0)
+            {
+            
+               assertEquals(expected, accumulator.get(), "threshold " + threshold + ", step " + i);
+            
+            }
+         
+         }
+      
+         assertEquals(expected, accumulator.get(), "threshold " + threshold);
+         assertEquals(expected.getNumerator(), accumulator.get().getNumerator());
+         assertEquals(expected.getDenominator(), accumulator.get().getDenominator());
+      
+      }
+   
+   }
+
+   @Test
+   void startsFromTheInitialValue()
+   {
+   
+      assertEquals(BigNumber.ZERO, new BigNumberAccumulator().get());
+      assertEquals(BigNumber.valueOf(5, 6), new BigNumberAccumulator(BigNumber.ONE_HALF).add(BigNumber.ONE_THIRD).get());
+   
+   }
+
+   @Test
+   void rejectsBadArguments()
+   {
+   
+      assertThrows(NullPointerException.class, () -> new BigNumberAccumulator(null));
+      assertThrows(IllegalArgumentException.class, () -> new BigNumberAccumulator(BigNumber.ONE, 0));
+      assertThrows(NullPointerException.class, () -> new BigNumberAccumulator().add(null));
+      assertThrows(NullPointerException.class, () -> new BigNumberAccumulator().addProduct(BigNumber.ONE, null));
+   
+   }
+
+}
\ No newline at end of file
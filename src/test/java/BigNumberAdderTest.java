@@ -0,0 +1,72 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberAdder.
+ *
+ */
+class BigNumberAdderTest
+{
+
+   @Test
+   void concurrentAddsAreAllCounted() throws InterruptedException
+   {
+   
+      final BigNumberAdder adder = new BigNumberAdder();
+      final List<Thread> threads = new ArrayList<>();
+   
+      for (int t = 0; t < 8; t++)
+      {
+      
+         final Thread thread = new Thread(() ->
+         {
+         
+            for (int i = 0; i < 1000; i++)
+            {
+            
+               adder.add(BigNumber.ONE_THIRD);
+            
+            }
+         
+         });
+      
+         threads.add(thread);
+         thread.start();
+      
+      }
+   
+      for (Thread thread : threads)
+      {
+      
+         thread.join();
+      
+      }
+   
+      assertEquals(BigNumber.valueOf(8000, 3), adder.sum());
+   
+   }
+
+   @Test
+   void resetClearsEveryCell()
+   {
+   
+      final BigNumberAdder adder = new BigNumberAdder();
+   
+      adder.add(5);
+      adder.add(BigNumber.ONE_HALF);
+      adder.reset();
+   
+      assertEquals(BigNumber.ZERO, adder.sum());
+   
+      adder.add(-3);
+   
+      assertEquals(BigNumber.valueOf(-3), adder.sumThenReset());
+      assertEquals(BigNumber.ZERO, adder.sum());
+   
+   }
+
+}
\ No newline at end of file
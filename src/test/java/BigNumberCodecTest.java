@@ -0,0 +1,236 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberCodec, through every way in and out.
+ *
+ */
+class BigNumberCodecTest
+{
+
+   /**
+    *
+    * Encodes a value every way there is, checks that they all agree, and decodes it back every way there is.
+    *
+    * @param value    the value to round trip
+    * @throws IOException if the streams fail, which in-memory ones do not
+    *
+    */
+   private static void assertRoundTrips(BigNumber value) throws IOException
+   {
+   
+      final byte[] bytes = BigNumberCodec.encode(value);
+   
+      assertEquals(bytes.length, BigNumberCodec.encodedLength(value), value::toString);
+      assertEquals(value, BigNumberCodec.decode(bytes), value::toString);
+      assertEquals(value, BigNumberCodec.decodeChecked(bytes), value::toString);
+   
+      //a direct buffer, with a byte in front so the value does not start at 0
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 1);
+   
+      buffer.put((byte) 9);
+      BigNumberCodec.encode(value, buffer);
+      buffer.flip().get();
+   
+      assertEquals(value, BigNumberCodec.decode(buffer), value::toString);
+      assertFalse(buffer.hasRemaining(), value::toString);
+   
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+   
+      BigNumberCodec.encode(value, new DataOutputStream(out));
+   
+      assertArrayEquals(bytes, out.toByteArray(), value::toString);
+      assertEquals(value, BigNumberCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes))), value::toString);
+   
+   }
+
+   @Test
+   void boundariesRoundTrip() throws IOException
+   {
+   
+      final long[] numerators = {0, 1, -1, 63, 64, -64, -65, (1L << 61) - 1, -(1L << 61), 1L << 61, -(1L << 61) - 1, Long.MAX_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE};
+   
+      for (long numerator : numerators)
+      {
+      
+         assertRoundTrips(new BigNumber(numerator));
+      
+         for (long denominator : new long[] {2, 3, Long.MAX_VALUE, (1L << 62) + 1})
+         {
+         
+            assertRoundTrips(new BigNumber(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator)));
+         
+         }
+      
+      }
+   
+      assertRoundTrips(new BigNumber(BigInteger.TWO.pow(64)));
+      assertRoundTrips(new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(64)));
+      assertRoundTrips(new BigNumber(BigInteger.TEN.pow(100).negate(), BigInteger.valueOf(3).pow(90)));
+   
+      //big enough that a DataInput gets read in several chunks, with a denominator that keeps decodeChecked's gcd cheap
+      assertRoundTrips(new BigNumber(BigInteger.TWO.pow(1 << 20).subtract(BigInteger.ONE), BigInteger.TWO));
+   
+   }
+
+   @Test
+   void randomValuesRoundTrip() throws IOException
+   {
+   
+      final Random random = new Random(3);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final int bits = 1 + random.nextInt(i % 3 == 0 ? 300 : 64);
+         final BigInteger numerator = new BigInteger(bits, random);
+         final BigInteger denominator = new BigInteger(1 + random.nextInt(bits + 1), random).add(BigInteger.ONE);
+      
+         assertRoundTrips(new BigNumber(random.nextBoolean() ? numerator : numerator.negate(), denominator));
+      
+      }
+   
+   }
+
+   @Test
+   void smallValuesAreCompact()
+   {
+   
+      assertEquals(1, BigNumberCodec.encode(BigNumber.ZERO).length);
+      assertEquals(1, BigNumberCodec.encode(BigNumber.valueOf(-1)).length);
+      assertEquals(2, BigNumberCodec.encode(BigNumber.ONE_HALF).length);
+      assertEquals(3, BigNumberCodec.encode(BigNumber.valueOf(-1000, 7)).length);
+   
+   }
+
+   @Test
+   void smallFractionsAreReducedOnTheWayIn()
+   {
+   
+      //header for 2 as a fraction, then 4 as the denominator
+      assertEquals(BigNumber.ONE_HALF, BigNumberCodec.decode(new byte[] {(byte) (4 << 2 | BigNumberCodec.FRACTION), 4}));
+   
+   }
+
+   @Test
+   void malformedInputIsRejected()
+   {
+   
+      final byte[][] malformed =
+      {
+      
+         //unknown kind
+         {3},
+         //zero denominator
+         {1, 0},
+         //varint longer than 64 bits
+         {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1},
+         //zero length numerator
+         {2, 1, 1, 0},
+         //negative denominator
+         {6, 1, 1, (byte) 0xff}
+      
+      };
+   
+      for (byte[] bytes : malformed)
+      {
+      
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decode(bytes), Arrays.toString(bytes));
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes))), Arrays.toString(bytes));
+      
+      }
+   
+      //only a whole array has to be exactly one value
+      assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decode(new byte[] {0, 0}));
+   
+   }
+
+   @Test
+   void checkedDecodeRejectsFractionsNotInLowestTerms()
+   {
+   
+      //2 / 4 and 0 / 5 written as bytes
+      for (byte[] bytes : new byte[][] {{6, 2, 1, 4}, {6, 0, 1, 5}})
+      {
+      
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decodeChecked(bytes), Arrays.toString(bytes));
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decodeChecked(ByteBuffer.wrap(bytes)), Arrays.toString(bytes));
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decodeChecked(new DataInputStream(new ByteArrayInputStream(bytes))), Arrays.toString(bytes));
+      
+      }
+   
+   }
+
+   @Test
+   void oversizedLengthsAreRejected()
+   {
+   
+      final byte[][] oversized =
+      {
+      
+         //numerator length 2^31 - 1, more than any BigInteger takes
+         {(byte) 0xfe, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x1f, 1},
+         //numerator length 2^46
+         {(byte) 0x82, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x40, 1},
+         //denominator length 2^32 - 1
+         {6, 1, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f, 1}
+      
+      };
+   
+      for (byte[] bytes : oversized)
+      {
+      
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decode(bytes), Arrays.toString(bytes));
+         assertThrows(IllegalArgumentException.class, () -> BigNumberCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes))), Arrays.toString(bytes));
+      
+      }
+   
+   }
+
+   @Test
+   void largeLengthsInShortInputRunOut()
+   {
+   
+      //numerator length 2^27, which a BigInteger could take, followed by only 3 bytes
+      final byte[] bytes = {(byte) 0x82, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x02, 1, 2, 3};
+   
+      assertThrows(BufferUnderflowException.class, () -> BigNumberCodec.decode(ByteBuffer.wrap(bytes)));
+      assertThrows(EOFException.class, () -> BigNumberCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes))));
+   
+   }
+
+   @Test
+   void truncatedInputRunsOut()
+   {
+   
+      final byte[] bytes = BigNumberCodec.encode(new BigNumber(BigInteger.TEN.pow(40), BigInteger.valueOf(7).pow(30)));
+   
+      for (int length = 0; length < bytes.length; length++)
+      {
+      
+         final byte[] truncated = Arrays.copyOf(bytes, length);
+      
+         assertThrows(BufferUnderflowException.class, () -> BigNumberCodec.decode(ByteBuffer.wrap(truncated)), "length " + length);
+         assertThrows(EOFException.class, () -> BigNumberCodec.decode(new DataInputStream(new ByteArrayInputStream(truncated))), "length " + length);
+      
+      }
+   
+   }
+
+}
\ No newline at end of file
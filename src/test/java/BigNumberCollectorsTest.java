@@ -0,0 +1,123 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberCollectors and BigNumberSummaryStatistics, sequential and parallel, against BigNumber.
+ *
+ */
+class BigNumberCollectorsTest
+{
+
+   /**
+    *
+    * Makes a list of small random fractions, with a few zeros and negative values mixed in.
+    *
+    * @param random     the source of randomness
+    * @param size       how many values to make
+    * @return           the values
+    *
+    */
+   private static List<BigNumber> randomValues(Random random, int size)
+   {
+   
+      final List<BigNumber> values = new ArrayList<>();
+   
+      for (int i = 0; i < size; i++)
+      {
+      
+         values.add(BigNumber.valueOf(random.nextInt(39) - 19, random.nextInt(20) + 1));
+      
+      }
+   
+      return values;
+   
+   }
+
+   @Test
+   void sumProductAndAverageMatchBigNumber()
+   {
+   
+      final Random random = new Random(16);
+   
+      for (int size : new int[] {0, 1, 2, 100, 5000})
+      {
+      
+         final List<BigNumber> values = randomValues(random, size);
+         final List<BigNumber> nonZero = new ArrayList<>(values);
+      
+         nonZero.removeIf(value -> value.equals(BigNumber.ZERO));
+      
+         final BigNumber sum = BigNumber.sum(values);
+         final BigNumber product = BigNumber.product(nonZero);
+         final BigNumber average = size == 0 ? BigNumber.ZERO : sum.divide(size);
+      
+         assertEquals(sum, values.stream().collect(BigNumberCollectors.summing()), "sum of " + size);
+         assertEquals(sum, values.parallelStream().collect(BigNumberCollectors.summing()), "parallel sum of " + size);
+         assertEquals(product, nonZero.stream().collect(BigNumberCollectors.product()), "product of " + size);
+         assertEquals(product, nonZero.parallelStream().collect(BigNumberCollectors.product()), "parallel product of " + size);
+         assertEquals(average, values.stream().collect(BigNumberCollectors.averaging()), "average of " + size);
+         assertEquals(average, values.parallelStream().collect(BigNumberCollectors.averaging()), "parallel average of " + size);
+      
+      }
+   
+      assertEquals(BigNumber.ZERO, Stream.of(BigNumber.TWO, BigNumber.ZERO, BigNumber.TEN).collect(BigNumberCollectors.product()));
+   
+   }
+
+   @Test
+   void summarizingMatchesBigNumber()
+   {
+   
+      final List<BigNumber> values = randomValues(new Random(160), 3000);
+      final BigNumberSummaryStatistics sequential = values.stream().collect(BigNumberCollectors.summarizing());
+      final BigNumberSummaryStatistics parallel = values.parallelStream().collect(BigNumberCollectors.summarizing());
+   
+      for (BigNumberSummaryStatistics statistics : List.of(sequential, parallel))
+      {
+      
+         assertEquals(values.size(), statistics.getCount());
+         assertEquals(BigNumber.sum(values), statistics.getSum());
+         assertEquals(Collections.min(values), statistics.getMin());
+         assertEquals(Collections.max(values), statistics.getMax());
+         assertEquals(BigNumber.sum(values).divide(values.size()), statistics.getAverage());
+      
+      }
+   
+      final BigNumberSummaryStatistics empty = new BigNumberSummaryStatistics();
+   
+      assertEquals(0, empty.getCount());
+      assertEquals(BigNumber.ZERO, empty.getSum());
+      assertEquals(BigNumber.ZERO, empty.getAverage());
+      assertNull(empty.getMin());
+      assertNull(empty.getMax());
+   
+      //combining an empty one in must not change anything
+      sequential.combine(empty);
+   
+      assertEquals(parallel.toString(), sequential.toString());
+   
+   }
+
+   @Test
+   void nullsAreRejected()
+   {
+   
+      final BigNumberSummaryStatistics statistics = new BigNumberSummaryStatistics();
+   
+      assertThrows(NullPointerException.class, () -> statistics.accept(null));
+      assertThrows(NullPointerException.class, () -> statistics.combine(null));
+      assertThrows(NullPointerException.class, () -> Stream.of(BigNumber.ONE, null).collect(BigNumberCollectors.summing()));
+      assertThrows(NullPointerException.class, () -> Stream.of(BigNumber.ONE, null).collect(BigNumberCollectors.summarizing()));
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,329 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * Tests for BigNumberColumn, with 4 KiB segments so that plenty of values cross from one segment to the next.
+ *
+ */
+class BigNumberColumnTest
+{
+
+   /**
+    *
+    * log2 of the segment size the tests open columns with.
+    *
+    */
+   private static final int SEGMENT_SHIFT = 12;
+
+   @TempDir
+   Path directory;
+
+   /**
+    *
+    * Returns a mix of small integers, small fractions and values of up to a few KiB.
+    *
+    * @param count    the number of values
+    * @return         the values
+    *
+    */
+   private static List<BigNumber> values(int count)
+   {
+   
+      final Random random = new Random(4);
+      final List<BigNumber> result = new ArrayList<>();
+   
+      for (int i = 0; i < count; i++)
+      {
+      
+         if (i % 50 == 7)
+         {
+         
+            result.add(new BigNumber(new BigInteger(1000 + random.nextInt(40000), random), BigInteger.valueOf(3)));
+         
+         }
+      
+         else
+         {
+         
+            result.add(i % 3 == 0 ? BigNumber.valueOf(random.nextLong()) : BigNumber.valueOf(random.nextInt(), random.nextInt(1000) + 1));
+         
+         }
+      
+      }
+   
+      return result;
+   
+   }
+
+   /**
+    *
+    * Writes values to a column, through a new Writer.
+    *
+    * @param path      the payload file
+    * @param values    the values to append
+    * @throws IOException if the column cannot be written
+    *
+    */
+   private static void write(Path path, List<BigNumber> values) throws IOException
+   {
+   
+      try (BigNumberColumn.Writer writer = new BigNumberColumn.Writer(path))
+      {
+      
+         for (BigNumber value : values)
+         {
+         
+            writer.append(value);
+         
+         }
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Checks that a column holds exactly the given values, both through get and through a cursor.
+    *
+    * @param path      the payload file
+    * @param values    the values it should hold
+    * @throws IOException if the column cannot be opened
+    *
+    */
+   private static void assertColumn(Path path, List<BigNumber> values) throws IOException
+   {
+   
+      final BigNumberColumn column = BigNumberColumn.open(path, SEGMENT_SHIFT);
+   
+      assertEquals(values.size(), column.size());
+   
+      for (int i = 0; i < values.size(); i++)
+      {
+      
+         assertEquals(values.get(i), column.get(i), "get " + i);
+      
+      }
+   
+      final BigNumberColumn.Cursor cursor = column.cursor();
+   
+      for (int i = 0; i < values.size(); i++)
+      {
+      
+         assertTrue(cursor.next(), "next " + i);
+         assertEquals(i, cursor.getIndex());
+         assertEquals(values.get(i), cursor.get(), "cursor " + i);
+      
+         if (cursor.isSmall())
+         {
+         
+            assertEquals(values.get(i), BigNumber.valueOf(cursor.getSmallNumerator(), cursor.getSmallDenominator()), "small " + i);
+         
+         }
+      
+         else
+         {
+         
+            assertThrows(IllegalStateException.class, cursor::getSmallNumerator);
+         
+         }
+      
+      }
+   
+      assertFalse(cursor.next());
+      assertThrows(NoSuchElementException.class, cursor::get);
+   
+   }
+
+   @Test
+   void valuesCrossingSegmentsReadBack() throws IOException
+   {
+   
+      final Path path = this.directory.resolve("values.bn");
+      final List<BigNumber> values = values(3000);
+   
+      write(path, values);
+   
+      //make sure the test covers what it means to, both small and big values that straddle a segment boundary
+      long start = 0;
+      int smallCrossing = 0;
+      int bigCrossing = 0;
+   
+      for (BigNumber value : values)
+      {
+      
+         final long end = start + BigNumberCodec.encodedLength(value);
+      
+         if (start >>> SEGMENT_SHIFT != (end - 1) >>> SEGMENT_SHIFT)
+         {
+         
+            if (value.isSmall())
+            {
+            
+               smallCrossing++;
+            
+            }
+         
+            else
+            {
+            
+               bigCrossing++;
+            
+            }
+         
+         }
+      
+         start = end;
+      
+      }
+   
+      assertTrue(smallCrossing > 0 && bigCrossing > 0, smallCrossing + " small, " + bigCrossing + " big");
+   
+      assertColumn(path, values);
+   
+   }
+
+   @Test
+   void outOfRangeIndexesAreRejected() throws IOException
+   {
+   
+      final Path path = this.directory.resolve("values.bn");
+   
+      write(path, values(10));
+   
+      final BigNumberColumn column = BigNumberColumn.open(path, SEGMENT_SHIFT);
+   
+      assertThrows(IndexOutOfBoundsException.class, () -> column.get(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> column.get(10));
+   
+   }
+
+   @Test
+   void writerAppendsToAnExistingColumn() throws IOException
+   {
+   
+      final Path path = this.directory.resolve("values.bn");
+      final List<BigNumber> values = values(2000);
+   
+      write(path, values.subList(0, 700));
+   
+      try (BigNumberColumn.Writer writer = new BigNumberColumn.Writer(path))
+      {
+      
+         assertEquals(700, writer.size());
+      
+         for (BigNumber value : values.subList(700, values.size()))
+         {
+         
+            writer.append(value);
+         
+         }
+      
+      }
+   
+      assertColumn(path, values);
+   
+   }
+
+   @Test
+   void writerRecoversFromATornWrite() throws IOException
+   {
+   
+      final Path path = this.directory.resolve("values.bn");
+      final Path indexPath = BigNumberColumn.indexPath(path);
+      final List<BigNumber> values = values(1000);
+   
+      write(path, values);
+   
+      final long payloadSize = Files.size(path);
+   
+      //half written payload and half written index entry
+      Files.write(path, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+      Files.write(indexPath, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+   
+      try (BigNumberColumn.Writer writer = new BigNumberColumn.Writer(path))
+      {
+      
+         assertEquals(values.size(), writer.size());
+      
+      }
+   
+      assertEquals(payloadSize, Files.size(path));
+      assertEquals(values.size() * 8L, Files.size(indexPath));
+      assertColumn(path, values);
+   
+   }
+
+   @Test
+   void writerRecoversFromAnIndexAheadOfThePayload() throws IOException
+   {
+   
+      final Path path = this.directory.resolve("values.bn");
+      final Path indexPath = BigNumberColumn.indexPath(path);
+      final List<BigNumber> values = values(1000);
+   
+      write(path, values);
+   
+      //the payload lost the last few values, with part of the one before the cut still there
+      final int kept = 990;
+      long keptSize = 0;
+   
+      for (BigNumber value : values.subList(0, kept))
+      {
+      
+         keptSize += BigNumberCodec.encodedLength(value);
+      
+      }
+   
+      try (FileChannel payload = FileChannel.open(path, StandardOpenOption.WRITE))
+      {
+      
+         payload.truncate(keptSize + 1);
+      
+      }
+   
+      //plus entries that cannot be real offsets at all
+      final ByteBuffer garbage = ByteBuffer.allocate(16).putLong(Long.MAX_VALUE).putLong(-1).flip();
+   
+      try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+      {
+      
+         index.write(garbage);
+      
+      }
+   
+      try (BigNumberColumn.Writer writer = new BigNumberColumn.Writer(path))
+      {
+      
+         assertEquals(kept, writer.size());
+      
+      }
+   
+      assertEquals(keptSize, Files.size(path));
+      assertEquals(kept * 8L, Files.size(indexPath));
+      assertColumn(path, values.subList(0, kept));
+   
+      //and the column carries on from there
+      write(path, values.subList(kept, values.size()));
+   
+      assertColumn(path, values);
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * Tests for BigNumberEvent, through a real JFR recording.
+ *
+ */
+class BigNumberEventTest
+{
+
+   @TempDir
+   Path directory;
+
+   @Test
+   void wideOperationsAreRecorded() throws IOException
+   {
+   
+      final Random random = new Random(1);
+      final BigNumber wide = new BigNumber(new BigInteger(5000, random), new BigInteger(5000, random).setBit(4999));
+      final BigNumber narrow = new BigNumber(new BigInteger(300, random), new BigInteger(300, random).setBit(299));
+      final Path file = this.directory.resolve("events.jfr");
+   
+      try (Recording recording = new Recording())
+      {
+      
+         recording.enable("BigNumber.Operation");
+         recording.start();
+      
+         wide.add(narrow);
+         wide.multiply(narrow);
+         wide.divide(narrow);
+         BigNumber.ONE_HALF.add(BigNumber.ONE_THIRD);
+         BigNumber.simplify(new BigInteger(6000, random), BigInteger.valueOf(7));
+      
+         recording.stop();
+         recording.dump(file);
+      
+      }
+   
+      final List<String> operations = new ArrayList<>();
+   
+      for (RecordedEvent event : RecordingFile.readAllEvents(file))
+      {
+      
+         operations.add(event.getString("operation"));
+      
+         //1 / 2 + 1 / 3 stays on longs, so it can never show up
+         assertFalse(event.getString("operation").equals("add") && event.getInt("leftNumeratorBits") < 64, event::toString);
+      
+      }
+   
+      assertTrue(operations.containsAll(List.of("add", "multiply", "divide", "simplify")), operations::toString);
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberLinearSolver, by putting the solutions back into the equations.
+ *
+ */
+class BigNumberLinearSolverTest
+{
+
+   /**
+    *
+    * Makes a small random fraction.
+    *
+    * @param random    the source of randomness
+    * @return          the fraction
+    *
+    */
+   private static BigNumber random(Random random)
+   {
+   
+      return BigNumber.valueOf(random.nextInt(2001) - 1000, random.nextInt(100) + 1);
+   
+   }
+
+   /**
+    *
+    * Makes a deep copy of a matrix, so that we can check the solver leaves its input alone.
+    *
+    * @param a    the matrix
+    * @return     the copy
+    *
+    */
+   private static BigNumber[][] copy(BigNumber[][] a)
+   {
+   
+      final BigNumber[][] copy = new BigNumber[a.length][];
+   
+      for (int i = 0; i < a.length; i++)
+      {
+      
+         copy[i] = a[i].clone();
+      
+      }
+   
+      return copy;
+   
+   }
+
+   @Test
+   void solutionsSatisfyTheEquations()
+   {
+   
+      final Random random = new Random(19);
+   
+      for (int n : new int[] {1, 2, 3, 8, 20})
+      {
+      
+         final BigNumber[][] a = new BigNumber[n][n];
+         final BigNumber[] b = new BigNumber[n];
+      
+         for (int i = 0; i < n; i++)
+         {
+         
+            for (int j = 0; j < n; j++)
+            {
+            
+               //leave some zeros, including on the diagonal, so that rows have to be swapped
+               a[i][j] = random.nextInt(4) == 0 ? BigNumber.ZERO : random(random);
+            
+            }
+         
+            b[i] = random(random);
+         
+         }
+      
+         final BigNumber[][] aCopy = copy(a);
+         final BigNumber[] bCopy = b.clone();
+         final BigNumber[] x = BigNumberLinearSolver.solve(a, b);
+      
+         assertEquals(n, x.length);
+      
+         for (int i = 0; i < n; i++)
+         {
+         
+            assertEquals(b[i], BigNumber.dot(a[i], x), "row " + i + " of " + n);
+         
+         }
+      
+         assertArrayEquals(aCopy, a);
+         assertArrayEquals(bCopy, b);
+      
+      }
+   
+   }
+
+   @Test
+   void pivotingAndKnownSolutions()
+   {
+   
+      final BigNumber[][] swapped = {{BigNumber.ZERO, BigNumber.ONE}, {BigNumber.ONE, BigNumber.ZERO}};
+   
+      assertArrayEquals(new BigNumber[] {BigNumber.TEN, BigNumber.TWO}, BigNumberLinearSolver.solve(swapped, new BigNumber[] {BigNumber.TWO, BigNumber.TEN}));
+   
+      //the 3 by 3 Hilbert matrix, which is notoriously badly conditioned in floating point
+      final BigNumber[][] hilbert = new BigNumber[3][3];
+   
+      for (int i = 0; i < 3; i++)
+      {
+      
+         for (int j = 0; j < 3; j++)
+         {
+         
+            hilbert[i][j] = BigNumber.valueOf(1, i + j + 1);
+         
+         }
+      
+      }
+   
+      assertArrayEquals(new BigNumber[] {BigNumber.valueOf(9), BigNumber.valueOf(-36), BigNumber.valueOf(30)}, BigNumberLinearSolver.solve(hilbert, new BigNumber[] {BigNumber.ONE, BigNumber.ZERO, BigNumber.ZERO}));
+   
+   }
+
+   @Test
+   void badInputIsRejected()
+   {
+   
+      final BigNumber[][] singular = {{BigNumber.ONE, BigNumber.TWO}, {BigNumber.ONE_HALF, BigNumber.ONE}};
+      final BigNumber[] two = {BigNumber.ONE, BigNumber.ONE};
+   
+      assertThrows(IllegalArgumentException.class, () -> BigNumberLinearSolver.solve(singular, two));
+      assertThrows(IllegalArgumentException.class, () -> BigNumberLinearSolver.solve(new BigNumber[][] {{BigNumber.ZERO}}, new BigNumber[] {BigNumber.ONE}));
+      assertThrows(IllegalArgumentException.class, () -> BigNumberLinearSolver.solve(singular, new BigNumber[] {BigNumber.ONE}));
+      assertThrows(IllegalArgumentException.class, () -> BigNumberLinearSolver.solve(new BigNumber[][] {{BigNumber.ONE}, {BigNumber.ONE, BigNumber.TWO}}, two));
+      assertThrows(NullPointerException.class, () -> BigNumberLinearSolver.solve(null, two));
+      assertThrows(NullPointerException.class, () -> BigNumberLinearSolver.solve(singular, null));
+      assertThrows(NullPointerException.class, () -> BigNumberLinearSolver.solve(new BigNumber[][] {{BigNumber.ONE, null}, {BigNumber.ONE, BigNumber.TWO}}, two));
+      assertThrows(NullPointerException.class, () -> BigNumberLinearSolver.solve(new BigNumber[][] {{BigNumber.ONE, BigNumber.ONE}, {BigNumber.ONE, BigNumber.TWO}}, new BigNumber[] {BigNumber.ONE, null}));
+   
+   }
+
+}
\ No newline at end of file
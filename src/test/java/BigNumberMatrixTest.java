@@ -0,0 +1,214 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberMatrix, against plain BigNumber[][] arithmetic.
+ *
+ */
+class BigNumberMatrixTest
+{
+
+   /**
+    *
+    * Makes a matrix of small random fractions, with some zeros mixed in.
+    *
+    * @param random     the source of randomness
+    * @param rows       the number of rows
+    * @param columns    the number of columns
+    * @return           the cells, as an array of rows
+    *
+    */
+   private static BigNumber[][] random(Random random, int rows, int columns)
+   {
+   
+      final BigNumber[][] values = new BigNumber[rows][columns];
+   
+      for (int i = 0; i < rows; i++)
+      {
+      
+         for (int j = 0; j < columns; j++)
+         {
+         
+            values[i][j] = random.nextInt(5) == 0 ? BigNumber.ZERO : BigNumber.valueOf(random.nextInt(201) - 100, random.nextInt(30) + 1);
+         
+         }
+      
+      }
+   
+      return values;
+   
+   }
+
+   /**
+    *
+    * Multiplies two matrices one BigNumber at a time.
+    *
+    * @param left     the left matrix
+    * @param right    the right matrix
+    * @return         the product
+    *
+    */
+   private static BigNumber[][] multiply(BigNumber[][] left, BigNumber[][] right)
+   {
+   
+      final BigNumber[][] result = new BigNumber[left.length][right[0].length];
+   
+      for (int i = 0; i < left.length; i++)
+      {
+      
+         for (int j = 0; j < right[0].length; j++)
+         {
+         
+            BigNumber cell = BigNumber.ZERO;
+         
+            for (int k = 0; k < right.length; k++)
+            {
+            
+               cell = cell.add(left[i][k].multiply(right[k][j]));
+            
+            }
+         
+            result[i][j] = cell;
+         
+         }
+      
+      }
+   
+      return result;
+   
+   }
+
+   @Test
+   void multiplyMatchesPlainArithmetic()
+   {
+   
+      final Random random = new Random(20);
+   
+      //the last two are past one block, so they get split across tasks, with ragged edges
+      for (int[] shape : new int[][] {{1, 1, 1}, {2, 3, 4}, {5, 1, 5}, {33, 31, 35}, {70, 40, 50}})
+      {
+      
+         final BigNumber[][] left = random(random, shape[0], shape[1]);
+         final BigNumber[][] right = random(random, shape[1], shape[2]);
+         final BigNumberMatrix product = new BigNumberMatrix(left).multiply(new BigNumberMatrix(right));
+      
+         assertEquals(shape[0], product.getRowCount());
+         assertEquals(shape[2], product.getColumnCount());
+         assertArrayEquals(multiply(left, right), product.toArray(), () -> shape[0] + "x" + shape[1] + "x" + shape[2]);
+         assertEquals(new BigNumberMatrix(multiply(left, right)), product);
+      
+      }
+   
+      final BigNumberMatrix matrix = new BigNumberMatrix(random(random, 4, 3));
+   
+      assertEquals(matrix, BigNumberMatrix.identity(4).multiply(matrix));
+      assertEquals(matrix, matrix.multiply(BigNumberMatrix.identity(3)));
+      assertThrows(IllegalArgumentException.class, () -> matrix.multiply(matrix));
+      assertThrows(NullPointerException.class, () -> matrix.multiply(null));
+   
+   }
+
+   @Test
+   void cellsTransposeAndEquality()
+   {
+   
+      final BigNumber[][] values = random(new Random(200), 3, 5);
+      final BigNumberMatrix matrix = new BigNumberMatrix(values);
+      final BigNumberMatrix transposed = matrix.transpose();
+   
+      assertArrayEquals(values, matrix.toArray());
+      assertEquals(5, transposed.getRowCount());
+      assertEquals(3, transposed.getColumnCount());
+   
+      for (int i = 0; i < 3; i++)
+      {
+      
+         for (int j = 0; j < 5; j++)
+         {
+         
+            assertEquals(values[i][j], matrix.get(i, j));
+            assertEquals(values[i][j], transposed.get(j, i));
+         
+         }
+      
+      }
+   
+      assertEquals(matrix, transposed.transpose());
+      assertEquals(matrix.hashCode(), transposed.transpose().hashCode());
+      assertNotEquals(matrix, transposed);
+   
+      //changing the array afterwards must not change the matrix
+      values[0][0] = values[0][0].add(BigNumber.ONE);
+   
+      assertNotEquals(values[0][0], matrix.get(0, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(3, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(0, -1));
+   
+   }
+
+   @Test
+   void determinantAndInverse()
+   {
+   
+      final Random random = new Random(2000);
+      final BigNumber[][] values = random(random, 3, 3);
+      final BigNumber[] r0 = values[0];
+      final BigNumber[] r1 = values[1];
+      final BigNumber[] r2 = values[2];
+   
+      //the rule of Sarrus
+      final BigNumber sarrus = r0[0].multiply(r1[1]).multiply(r2[2]).add(r0[1].multiply(r1[2]).multiply(r2[0])).add(r0[2].multiply(r1[0]).multiply(r2[1]))
+         .subtract(r0[2].multiply(r1[1]).multiply(r2[0])).subtract(r0[0].multiply(r1[2]).multiply(r2[1])).subtract(r0[1].multiply(r1[0]).multiply(r2[2]));
+   
+      assertEquals(sarrus, new BigNumberMatrix(values).determinant());
+   
+      for (int n : new int[] {1, 2, 6, 12})
+      {
+      
+         final BigNumberMatrix a = new BigNumberMatrix(random(random, n, n));
+         final BigNumberMatrix b = new BigNumberMatrix(random(random, n, n));
+      
+         assertEquals(a.determinant().multiply(b.determinant()), a.multiply(b).determinant(), "n = " + n);
+      
+         if (!a.determinant().equals(BigNumber.ZERO))
+         {
+         
+            assertEquals(BigNumberMatrix.identity(n), a.multiply(a.inverse()), "n = " + n);
+            assertEquals(BigNumberMatrix.identity(n), a.inverse().multiply(a), "n = " + n);
+         
+         }
+      
+      }
+   
+      final BigNumberMatrix singular = new BigNumberMatrix(new BigNumber[][] {{BigNumber.ONE, BigNumber.TWO}, {BigNumber.ONE_HALF, BigNumber.ONE}});
+      final BigNumberMatrix wide = new BigNumberMatrix(new BigNumber[][] {{BigNumber.ONE, BigNumber.TWO}});
+   
+      assertEquals(BigNumber.ZERO, singular.determinant());
+      assertEquals(BigNumber.ONE, BigNumberMatrix.identity(7).determinant());
+      assertThrows(IllegalArgumentException.class, singular::inverse);
+      assertThrows(IllegalArgumentException.class, wide::inverse);
+      assertThrows(IllegalArgumentException.class, wide::determinant);
+   
+   }
+
+   @Test
+   void badInputIsRejected()
+   {
+   
+      assertThrows(NullPointerException.class, () -> new BigNumberMatrix(null));
+      assertThrows(NullPointerException.class, () -> new BigNumberMatrix(new BigNumber[][] {{BigNumber.ONE}, null}));
+      assertThrows(NullPointerException.class, () -> new BigNumberMatrix(new BigNumber[][] {{BigNumber.ONE, null}}));
+      assertThrows(IllegalArgumentException.class, () -> new BigNumberMatrix(new BigNumber[0][]));
+      assertThrows(IllegalArgumentException.class, () -> new BigNumberMatrix(new BigNumber[][] {{}}));
+      assertThrows(IllegalArgumentException.class, () -> new BigNumberMatrix(new BigNumber[][] {{BigNumber.ONE}, {BigNumber.ONE, BigNumber.TWO}}));
+      assertThrows(IllegalArgumentException.class, () -> BigNumberMatrix.identity(0));
+   
+   }
+
+}
\ No newline at end of file
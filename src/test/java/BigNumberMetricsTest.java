@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberMetrics. The test task turns metrics on, and the counters are global, so each test starts by
+ * resetting them.
+ *
+ */
+class BigNumberMetricsTest
+{
+
+   @BeforeEach
+   void reset()
+   {
+   
+      assertTrue(BigNumberMetrics.isEnabled(), "the test task should set BigNumber.metrics");
+   
+      BigNumberMetrics.reset();
+   
+   }
+
+   @Test
+   void fmaCountsAsOneOperation()
+   {
+   
+      assertEquals(BigNumber.valueOf(5, 6), BigNumber.ONE_HALF.fma(BigNumber.ONE_THIRD, BigNumber.ONE_THIRD.multiply(2)));
+   
+      BigNumberMetrics.reset();
+   
+      BigNumber.ONE_HALF.fma(BigNumber.ONE_THIRD, BigNumber.ONE_QUARTER);
+      new BigNumber(BigInteger.TWO.pow(100), BigInteger.valueOf(3)).fma(BigNumber.ONE_THIRD, BigNumber.ONE_QUARTER);
+   
+      final BigNumberMetrics.Snapshot snapshot = BigNumberMetrics.snapshot();
+   
+      assertEquals(2, snapshot.getCount(BigNumberMetrics.Operation.FMA));
+      assertEquals(0, snapshot.getCount(BigNumberMetrics.Operation.MULTIPLY));
+      assertEquals(0, snapshot.getCount(BigNumberMetrics.Operation.ADD));
+   
+   }
+
+   @Test
+   void rejectedArgumentsAreNotCounted()
+   {
+   
+      assertThrows(IllegalArgumentException.class, () -> new BigNumber(BigInteger.ONE, BigInteger.ZERO));
+   
+      assertEquals(0, BigNumberMetrics.snapshot().getCount(BigNumberMetrics.Operation.SIMPLIFY));
+   
+      new BigNumber(BigInteger.TWO, BigInteger.valueOf(4));
+   
+      assertEquals(1, BigNumberMetrics.snapshot().getCount(BigNumberMetrics.Operation.SIMPLIFY));
+   
+   }
+
+   @Test
+   void accumulatorGcdsAreCounted()
+   {
+   
+      final BigNumberAccumulator accumulator = new BigNumberAccumulator();
+      final BigNumber expected = new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(99));
+   
+      accumulator.add(new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(100)));
+      accumulator.add(new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(100)));
+   
+      BigNumberMetrics.reset();
+   
+      //2 / 2^100 only gets reduced by normalize
+      assertEquals(expected, accumulator.get());
+   
+      final BigNumberMetrics.Snapshot snapshot = BigNumberMetrics.snapshot();
+   
+      assertEquals(1, snapshot.getGcdCount());
+      assertEquals(1, snapshot.getNonTrivialGcdCount());
+   
+   }
+
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumberSeries, against adding the terms up one at a time.
+ *
+ */
+class BigNumberSeriesTest
+{
+
+   /**
+    *
+    * Sums a series one term at a time.
+    *
+    * @param firstTerm    term(0)
+    * @param ratio        the ratio between consecutive terms
+    * @param terms        how many terms to sum
+    * @return             the sum
+    *
+    */
+   private static BigNumber sumTermByTerm(BigNumber firstTerm, BigNumberSeries.TermRatio ratio, int terms)
+   {
+   
+      BigNumber sum = BigNumber.ZERO;
+      BigNumber term = firstTerm;
+   
+      for (int k = 0; k < terms; k++)
+      {
+      
+         if (k > 0)
+         {
+         
+            term = term.multiply(new BigNumber(ratio.numerator(k), ratio.denominator(k)));
+         
+         }
+      
+         sum = sum.add(term);
+      
+      }
+   
+      return sum;
+   
+   }
+
+   @Test
+   void matchesTermByTermSums()
+   {
+   
+      //exp(1 / 3), ln(1 + 1 / 2), and a ratio with a negative denominator
+      final BigNumberSeries.TermRatio exp = new BigNumberSeries.TermRatio()
+      {
+      
+         public BigInteger numerator(int k)
+         {
+         
+            return BigInteger.ONE;
+         
+         }
+      
+         public BigInteger denominator(int k)
+         {
+         
+            return BigInteger.valueOf(3L * k);
+         
+         }
+      
+      };
+   
+      final BigNumberSeries.TermRatio ln = new BigNumberSeries.TermRatio()
+      {
+      
+         public BigInteger numerator(int k)
+         {
+         
+            return BigInteger.valueOf(-k);
+         
+         }
+      
+         public BigInteger denominator(int k)
+         {
+         
+            return BigInteger.valueOf(2L * (k + 1));
+         
+         }
+      
+      };
+   
+      final BigNumberSeries.TermRatio negative = new BigNumberSeries.TermRatio()
+      {
+      
+         public BigInteger numerator(int k)
+         {
+         
+            return BigInteger.valueOf(k + 1);
+         
+         }
+      
+         public BigInteger denominator(int k)
+         {
+         
+            return BigInteger.valueOf(-5L * k);
+         
+         }
+      
+      };
+   
+      //the counts straddle the plain loop threshold
+      for (int terms : new int[] {0, 1, 2, 7, 8, 9, 100})
+      {
+      
+         assertEquals(sumTermByTerm(BigNumber.valueOf(2, 5), exp, terms), BigNumberSeries.sum(BigNumber.valueOf(2, 5), exp, terms), "exp, " + terms);
+         assertEquals(sumTermByTerm(BigNumber.ONE_HALF, ln, terms), BigNumberSeries.sum(BigNumber.ONE_HALF, ln, terms), "ln, " + terms);
+         assertEquals(sumTermByTerm(BigNumber.MINUS_ONE, negative, terms), BigNumberSeries.sum(BigNumber.MINUS_ONE, negative, terms), "negative, " + terms);
+      
+      }
+   
+      //past the parallel threshold, adding up term by term takes too long, so check that consecutive sums differ by
+      //exactly the next term, 2 / (5 * 3^k * k!)
+      final int terms = BigNumberSeries.PARALLEL_THRESHOLD + 50;
+      BigInteger factorial = BigInteger.ONE;
+   
+      for (int k = 2; k <= terms; k++)
+      {
+      
+         factorial = factorial.multiply(BigInteger.valueOf(k));
+      
+      }
+   
+      final BigNumber nextTerm = new BigNumber(BigInteger.TWO, BigInteger.valueOf(5).multiply(BigInteger.valueOf(3).pow(terms)).multiply(factorial));
+      final BigNumber difference = BigNumberSeries.sum(BigNumber.valueOf(2, 5), exp, terms + 1).subtract(BigNumberSeries.sum(BigNumber.valueOf(2, 5), exp, terms));
+   
+      assertEquals(nextTerm, difference);
+   
+   }
+
+   @Test
+   void trivialSums()
+   {
+   
+      final BigNumberSeries.TermRatio halves = new BigNumberSeries.TermRatio()
+      {
+      
+         public BigInteger numerator(int k)
+         {
+         
+            return BigInteger.ONE;
+         
+         }
+      
+         public BigInteger denominator(int k)
+         {
+         
+            return BigInteger.TWO;
+         
+         }
+      
+      };
+   
+      assertSame(BigNumber.ZERO, BigNumberSeries.sum(BigNumber.ONE, halves, 0));
+      assertSame(BigNumber.ONE_THIRD, BigNumberSeries.sum(BigNumber.ONE_THIRD, halves, 1));
+      assertEquals(BigNumber.valueOf(1023, 512), BigNumberSeries.sum(BigNumber.ONE, halves, 10));
+      assertEquals(BigNumber.ZERO, BigNumberSeries.sum(BigNumber.ZERO, halves, 10));
+   
+   }
+
+   @Test
+   void rejectsBadArguments()
+   {
+   
+      final BigNumberSeries.TermRatio zero = new BigNumberSeries.TermRatio()
+      {
+      
+         public BigInteger numerator(int k)
+         {
+         
+            return BigInteger.ONE;
+         
+         }
+      
+         public BigInteger denominator(int k)
+         {
+         
+            return BigInteger.ZERO;
+         
+         }
+      
+      };
+   
+      assertThrows(IllegalArgumentException.class, () -> BigNumberSeries.sum(BigNumber.ONE, zero, -1));
+      assertThrows(IllegalArgumentException.class, () -> BigNumberSeries.sum(BigNumber.ONE, zero, 5));
+      assertThrows(NullPointerException.class, () -> BigNumberSeries.sum(null, zero, 5));
+      assertThrows(NullPointerException.class, () -> BigNumberSeries.sum(BigNumber.ONE, null, 5));
+   
+   }
+
+}
\ No newline at end of file
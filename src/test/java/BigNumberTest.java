@@ -0,0 +1,910 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for BigNumber. Arithmetic is checked against plain BigInteger arithmetic, and the conversions and the parser
+ * against BigDecimal and exact arithmetic on BigNumber itself.
+ *
+ */
+class BigNumberTest
+{
+
+   /**
+    *
+    * Returns a random fraction with a numerator and denominator of up to the given number of bits.
+    *
+    * @param random    the source of randomness
+    * @param bits      the most bits in the numerator and denominator
+    * @return          the fraction
+    *
+    */
+   private static BigNumber random(Random random, int bits)
+   {
+   
+      final BigInteger numerator = new BigInteger(1 + random.nextInt(bits), random);
+      final BigInteger denominator = new BigInteger(1 + random.nextInt(bits), random).add(BigInteger.ONE);
+   
+      return new BigNumber(random.nextBoolean() ? numerator : numerator.negate(), denominator);
+   
+   }
+
+   /**
+    *
+    * Returns the absolute value of a BigNumber.
+    *
+    * @param value    the value
+    * @return         its absolute value
+    *
+    */
+   private static BigNumber abs(BigNumber value)
+   {
+   
+      return value.isPositive() ? value : value.negate();
+   
+   }
+
+   /**
+    *
+    * Returns an operand for the arithmetic tests, cycling through integers, small fractions, fractions around the
+    * edge of the long range, and wide fractions.
+    *
+    * @param random    the source of randomness
+    * @param i         which kind of operand to return
+    * @return          the operand
+    *
+    */
+   private static BigNumber operand(Random random, int i)
+   {
+   
+      switch (i % 5)
+      {
+      
+         case 0:
+            return new BigNumber(new BigInteger(1 + random.nextInt(80), random).subtract(BigInteger.TWO.pow(40)));
+      
+         case 1:
+            return random(random, 16);
+      
+         case 2:
+            return random(random, 64);
+      
+         case 3:
+            return random(random, 300);
+      
+         default:
+            return i % 25 == 4 ? BigNumber.ZERO : random(random, 63);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Checks that a value is numerator / denominator, reduced with plain BigInteger arithmetic rather than anything in
+    * BigNumber.
+    *
+    * @param numerator      the expected numerator, not necessarily in lowest terms
+    * @param denominator    the expected denominator, not necessarily in lowest terms or positive
+    * @param actual         the value to check
+    * @param message        what to say if it does not match
+    *
+    */
+   private static void assertFraction(BigInteger numerator, BigInteger denominator, BigNumber actual, String message)
+   {
+   
+      final BigInteger gcd = numerator.gcd(denominator);
+      final BigInteger sign = BigInteger.valueOf(denominator.signum());
+   
+      assertEquals(numerator.divide(gcd).multiply(sign), actual.getNumerator(), message);
+      assertEquals(denominator.divide(gcd).abs(), actual.getDenominator(), message);
+   
+   }
+
+   /**
+    *
+    * Checks that a value is held on longs exactly when its numerator and denominator fit, and that the longs agree
+    * with the BigIntegers.
+    *
+    * @param value    the value to check
+    *
+    */
+   private static void assertRepresentation(BigNumber value)
+   {
+   
+      final BigInteger numerator = value.getNumerator();
+      final boolean fits = numerator.bitLength() < Long.SIZE && !numerator.equals(BigInteger.valueOf(Long.MIN_VALUE)) && value.getDenominator().bitLength() < Long.SIZE;
+   
+      assertEquals(fits, value.isSmall(), value::toString);
+   
+      if (fits)
+      {
+      
+         assertEquals(numerator.longValue(), value.getSmallNumerator(), value::toString);
+         assertEquals(value.getDenominator().longValue(), value.getSmallDenominator(), value::toString);
+      
+      }
+   
+   }
+
+   /**
+    *
+    * Checks that a double is the closest one to an exact value, with ties going to the even one.
+    *
+    * @param exact     the exact value
+    * @param actual    the double to check
+    *
+    */
+   private static void assertCorrectlyRounded(BigNumber exact, double actual)
+   {
+   
+      final BigNumber error = abs(exact.subtract(BigNumber.valueOf(actual)));
+   
+      for (double neighbour : new double[] {Math.nextUp(actual), Math.nextDown(actual)})
+      {
+      
+         final int comparison = error.compareTo(abs(exact.subtract(BigNumber.valueOf(neighbour))));
+      
+         assertTrue(comparison < 0 || comparison == 0 && (Double.doubleToLongBits(actual) & 1) == 0, () -> exact + " gave " + actual + ", but " + neighbour + " is closer");
+      
+      }
+   
+   }
+
+   /**
+    *
+    * The same as {@link #assertCorrectlyRounded(BigNumber, double)}, for floats.
+    *
+    * @param exact     the exact value
+    * @param actual    the float to check
+    *
+    */
+   private static void assertCorrectlyRounded(BigNumber exact, float actual)
+   {
+   
+      final BigNumber error = abs(exact.subtract(BigNumber.valueOf(actual)));
+   
+      for (float neighbour : new float[] {Math.nextUp(actual), Math.nextDown(actual)})
+      {
+      
+         final int comparison = error.compareTo(abs(exact.subtract(BigNumber.valueOf(neighbour))));
+      
+         assertTrue(comparison < 0 || comparison == 0 && (Float.floatToIntBits(actual) & 1) == 0, () -> exact + " gave " + actual + ", but " + neighbour + " is closer");
+      
+      }
+   
+   }
+
+   @Test
+   void doubleValueIsCorrectlyRounded()
+   {
+   
+      final Random random = new Random(9);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber value = random(random, i % 2 == 0 ? 64 : 400);
+      
+         assertCorrectlyRounded(value, value.doubleValue());
+      
+      }
+   
+   }
+
+   @Test
+   void doubleValueEdgeCases()
+   {
+   
+      assertEquals(1.0 / 3, BigNumber.ONE_THIRD.doubleValue());
+      assertEquals(0.1, BigNumber.valueOf(1, 10).doubleValue());
+      assertEquals(-0.1, BigNumber.valueOf(-1, 10).doubleValue());
+      assertEquals(Double.MIN_VALUE, new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(1074)).doubleValue());
+      assertEquals(0.0, new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(1076)).doubleValue());
+      assertEquals(Double.MAX_VALUE, new BigNumber(new BigDecimal(Double.MAX_VALUE).toBigInteger()).doubleValue());
+      assertEquals(Double.POSITIVE_INFINITY, new BigNumber(BigInteger.TWO.pow(1024)).doubleValue());
+      assertEquals(Double.NEGATIVE_INFINITY, new BigNumber(BigInteger.TWO.pow(1024).negate()).doubleValue());
+   
+      //halfway between 2^53 and 2^53 + 2, so it goes to the even one
+      assertEquals(0x1p53, new BigNumber(BigInteger.TWO.pow(53).add(BigInteger.ONE)).doubleValue());
+      assertEquals(0x1p53 + 4, new BigNumber(BigInteger.TWO.pow(53).add(BigInteger.valueOf(3))).doubleValue());
+   
+   }
+
+   @Test
+   void floatValueIsCorrectlyRounded()
+   {
+   
+      final Random random = new Random(10);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber value = random(random, i % 2 == 0 ? 40 : 120);
+      
+         assertCorrectlyRounded(value, value.floatValue());
+      
+      }
+   
+      assertEquals(Float.MIN_VALUE, new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(149)).floatValue());
+      assertEquals(Float.POSITIVE_INFINITY, new BigNumber(BigInteger.TWO.pow(128)).floatValue());
+      assertEquals(0.1f, BigNumber.valueOf(1, 10).floatValue());
+   
+   }
+
+   @Test
+   void toBigDecimalMatchesBigDecimalDivide()
+   {
+   
+      final Random random = new Random(11);
+      final RoundingMode[] modes = {RoundingMode.HALF_EVEN, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR};
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber value = random(random, 200);
+         final MathContext mc = new MathContext(1 + random.nextInt(60), modes[random.nextInt(modes.length)]);
+         final BigDecimal expected = new BigDecimal(value.getNumerator()).divide(new BigDecimal(value.getDenominator()), mc);
+      
+         assertEquals(0, expected.compareTo(value.toBigDecimal(mc)), () -> value + " with " + mc);
+      
+         final int scale = random.nextInt(80) - 20;
+         final RoundingMode mode = modes[random.nextInt(modes.length)];
+      
+         assertEquals(new BigDecimal(value.getNumerator()).divide(new BigDecimal(value.getDenominator()), scale, mode), value.toBigDecimal(scale, mode), () -> value + " at scale " + scale + " " + mode);
+      
+      }
+   
+   }
+
+   @Test
+   void toBigDecimalRoundsOnTheStickyDigit()
+   {
+   
+      //just above and just below a half at the last kept digit, which a truncated quotient would not tell apart
+      final BigNumber justAboveHalf = new BigNumber(new BigInteger("1250000000000000000001"), new BigInteger("10000000000000000000000"));
+      final BigNumber justBelowHalf = new BigNumber(new BigInteger("1249999999999999999999"), new BigInteger("10000000000000000000000"));
+      final MathContext twoDigits = new MathContext(2, RoundingMode.HALF_EVEN);
+   
+      assertEquals(new BigDecimal("0.13"), justAboveHalf.toBigDecimal(twoDigits));
+      assertEquals(new BigDecimal("0.12"), justBelowHalf.toBigDecimal(twoDigits));
+      assertEquals(new BigDecimal("0.12"), BigNumber.valueOf(1, 8).toBigDecimal(twoDigits));
+      assertEquals(new BigDecimal("0.13"), justAboveHalf.toBigDecimal(2, RoundingMode.HALF_DOWN));
+      assertEquals(0, new BigDecimal("0.125").compareTo(BigNumber.valueOf(1, 8).toBigDecimal(MathContext.UNLIMITED)));
+      assertThrows(ArithmeticException.class, () -> BigNumber.ONE_THIRD.toBigDecimal(MathContext.UNLIMITED));
+      assertThrows(ArithmeticException.class, () -> BigNumber.ONE_THIRD.toBigDecimal(5, RoundingMode.UNNECESSARY));
+   
+   }
+
+   @Test
+   void valueOfStringParsesEveryFormat()
+   {
+   
+      assertEquals(BigNumber.valueOf(-12), BigNumber.valueOf("-12"));
+      assertEquals(BigNumber.valueOf(13, 4), BigNumber.valueOf("3.25"));
+      assertEquals(BigNumber.valueOf(3, 2000), BigNumber.valueOf("1.5e-3"));
+      assertEquals(BigNumber.valueOf(1500), BigNumber.valueOf("1.5E3"));
+      assertEquals(BigNumber.ONE_THIRD, BigNumber.valueOf("1/3"));
+      assertEquals(BigNumber.ONE_THIRD, BigNumber.valueOf("1 / 3"));
+      assertEquals(BigNumber.valueOf(-5, 2), BigNumber.valueOf("2.5 / -1"));
+      assertEquals(BigNumber.ONE_HALF, BigNumber.valueOf("2/4"));
+   
+   }
+
+   @Test
+   void valueOfStringMatchesBigDecimal()
+   {
+   
+      final Random random = new Random(12);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigDecimal decimal = new BigDecimal(new BigInteger(1 + random.nextInt(200), random), random.nextInt(80) - 40);
+         final String text = random.nextBoolean() ? decimal.toString() : decimal.toPlainString();
+         final BigInteger unscaled = decimal.unscaledValue();
+         final BigNumber expected = decimal.scale() <= 0
+            ? new BigNumber(unscaled.multiply(BigInteger.TEN.pow(-decimal.scale())))
+            : new BigNumber(unscaled, BigInteger.TEN.pow(decimal.scale()));
+      
+         assertEquals(expected, BigNumber.valueOf(text), text);
+      
+      }
+   
+   }
+
+   @Test
+   void valueOfStringRoundTripsToString()
+   {
+   
+      final Random random = new Random(13);
+   
+      for (int i = 0; i < 2000; i++)
+      {
+      
+         final BigNumber value = random(random, i % 2 == 0 ? 60 : 300);
+      
+         assertEquals(value, BigNumber.valueOf(value.toString()));
+      
+      }
+   
+   }
+
+   @Test
+   void valueOfStringRejectsMalformedInput()
+   {
+   
+      for (String text : new String[] {"", "-", ".", "abc", "1/", "/2", "1/0", "1e", "1.2.3", "--1", "1 / 2 / 3", "0x10"})
+      {
+      
+         assertThrows(NumberFormatException.class, () -> BigNumber.valueOf(text), text);
+      
+      }
+   
+   }
+
+   @Test
+   void valueOfStringRejectsHugeExponents()
+   {
+   
+      for (String text : new String[] {"1e999999999", "1e2147483647", "1e-2147483648", "1e99999999999999999999", "1e1000001", "1e-1000001", "1.5e1000002", "1 / 1e1000001"})
+      {
+      
+         final NumberFormatException e = assertThrows(NumberFormatException.class, () -> BigNumber.valueOf(text), text);
+      
+         assertTrue(e.getMessage().startsWith("exponent out of range"), text);
+      
+      }
+   
+      assertEquals(new BigNumber(BigInteger.TEN.pow(1000)), BigNumber.valueOf("1e1000"));
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.TEN.pow(1000)), BigNumber.valueOf("1e-1000"));
+      assertEquals(new BigNumber(BigInteger.TEN.pow(999_999)), BigNumber.valueOf("0.1e1000000"));
+   
+   }
+
+   @Test
+   void addAndSubtractMatchPlainArithmetic()
+   {
+   
+      final Random random = new Random(1);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber left = operand(random, i);
+      
+         //every so often, share a denominator, which Henrici's method treats specially
+         final BigNumber right = i % 7 == 0 ? new BigNumber(BigInteger.valueOf(random.nextInt()), left.getDenominator()) : operand(random, i / 5);
+      
+         final BigInteger cross1 = left.getNumerator().multiply(right.getDenominator());
+         final BigInteger cross2 = right.getNumerator().multiply(left.getDenominator());
+         final BigInteger denominator = left.getDenominator().multiply(right.getDenominator());
+      
+         assertFraction(cross1.add(cross2), denominator, left.add(right), left + " + " + right);
+         assertFraction(cross1.subtract(cross2), denominator, left.subtract(right), left + " - " + right);
+      
+      }
+   
+   }
+
+   @Test
+   void multiplyAndDivideMatchPlainArithmetic()
+   {
+   
+      final Random random = new Random(2);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber left = operand(random, i);
+      
+         //every so often, use the other's denominator as a numerator, so that the cross gcds cancel everything
+         final BigNumber right = i % 7 == 0 ? new BigNumber(left.getDenominator(), BigInteger.valueOf(random.nextInt(1000) + 1)) : operand(random, i / 5);
+      
+         final BigInteger numerator = left.getNumerator().multiply(right.getNumerator());
+         final BigInteger denominator = left.getDenominator().multiply(right.getDenominator());
+      
+         assertFraction(numerator, denominator, left.multiply(right), left + " * " + right);
+      
+         if (right.equals(BigNumber.ZERO))
+         {
+         
+            assertThrows(IllegalArgumentException.class, () -> left.divide(right));
+         
+         }
+      
+         else
+         {
+         
+            assertFraction(left.getNumerator().multiply(right.getDenominator()), left.getDenominator().multiply(right.getNumerator()), left.divide(right), left + " / " + right);
+         
+         }
+      
+      }
+   
+   }
+
+   @Test
+   void resultsUseLongsWheneverTheyFit()
+   {
+   
+      final Random random = new Random(3);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber left = operand(random, i);
+         final BigNumber right = operand(random, i / 5);
+      
+         assertRepresentation(left);
+         assertRepresentation(left.add(right));
+         assertRepresentation(left.subtract(right));
+         assertRepresentation(left.multiply(right));
+         assertRepresentation(left.negate());
+      
+      }
+   
+   }
+
+   @Test
+   void overflowMovesToBigIntegersAndBack()
+   {
+   
+      final BigNumber max = BigNumber.valueOf(Long.MAX_VALUE);
+      final BigNumber overflowed = max.add(1);
+   
+      assertFalse(overflowed.isSmall());
+      assertEquals(BigInteger.TWO.pow(63), overflowed.getNumerator());
+      assertTrue(overflowed.subtract(1).isSmall());
+      assertEquals(max, overflowed.subtract(1));
+   
+      //Long.MIN_VALUE cannot be negated on longs, so it is kept as a BigInteger
+      final BigNumber min = BigNumber.valueOf(Long.MIN_VALUE);
+   
+      assertFalse(min.isSmall());
+      assertEquals(BigInteger.TWO.pow(63), min.negate().getNumerator());
+      assertEquals(BigNumber.valueOf(Long.MIN_VALUE + 1), min.add(1));
+      assertTrue(min.add(1).isSmall());
+   
+      final BigNumber tiny = BigNumber.valueOf(1, Long.MAX_VALUE);
+      final BigNumber tinier = tiny.multiply(tiny);
+   
+      assertFalse(tinier.isSmall());
+      assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), tinier.getDenominator());
+      assertEquals(tiny, tinier.multiply(BigNumber.valueOf(Long.MAX_VALUE)));
+      assertTrue(tinier.multiply(BigNumber.valueOf(Long.MAX_VALUE)).isSmall());
+   
+   }
+
+   @Test
+   void longOverloadsMatchTheBigNumberOnes()
+   {
+   
+      final Random random = new Random(4);
+      final long[] edges = {0, 1, -1, 2, -3, 1L << 40, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+   
+      for (int i = 0; i < 2000; i++)
+      {
+      
+         final BigNumber value = operand(random, i);
+         final long param = i % 2 == 0 ? edges[i / 2 % edges.length] : random.nextLong() >> random.nextInt(64);
+         final BigNumber asBigNumber = new BigNumber(param);
+      
+         assertEquals(value.add(asBigNumber), value.add(param), value + " + " + param);
+         assertEquals(value.subtract(asBigNumber), value.subtract(param), value + " - " + param);
+         assertEquals(value.multiply(asBigNumber), value.multiply(param), value + " * " + param);
+      
+         if (param == 0)
+         {
+         
+            assertThrows(IllegalArgumentException.class, () -> value.divide(param));
+         
+         }
+      
+         else
+         {
+         
+            assertEquals(value.divide(asBigNumber), value.divide(param), value + " / " + param);
+         
+         }
+      
+      }
+   
+   }
+
+   @Test
+   void constructorPutsFractionsInCanonicalForm()
+   {
+   
+      final BigNumber value = new BigNumber(BigInteger.valueOf(6), BigInteger.valueOf(-4));
+   
+      assertEquals(BigInteger.valueOf(-3), value.getNumerator());
+      assertEquals(BigInteger.TWO, value.getDenominator());
+   
+      final BigNumber zero = new BigNumber(BigInteger.ZERO, BigInteger.valueOf(-5));
+   
+      assertEquals(BigInteger.ZERO, zero.getNumerator());
+      assertEquals(BigInteger.ONE, zero.getDenominator());
+   
+      assertThrows(IllegalArgumentException.class, () -> new BigNumber(BigInteger.ONE, BigInteger.ZERO));
+      assertThrows(NullPointerException.class, () -> new BigNumber(null, BigInteger.ONE));
+      assertThrows(NullPointerException.class, () -> new BigNumber(BigInteger.ONE, null));
+   
+   }
+
+   @Test
+   void equalValuesAreEqualHoweverTheyWereBuilt()
+   {
+   
+      final Random random = new Random(7);
+      final Set<BigNumber> seen = new HashSet<>();
+   
+      for (int i = 0; i < 2000; i++)
+      {
+      
+         final BigNumber value = operand(random, i);
+      
+         //the same value, scaled up by a factor that the constructor has to cancel again, possibly past the long range
+         final BigInteger factor = new BigInteger(1 + random.nextInt(100), random).add(BigInteger.ONE).multiply(BigInteger.valueOf(random.nextBoolean() ? 1 : -1));
+         final BigNumber scaled = new BigNumber(value.getNumerator().multiply(factor), value.getDenominator().multiply(factor));
+      
+         assertEquals(value, scaled);
+         assertEquals(scaled, value);
+         assertEquals(value.hashCode(), scaled.hashCode(), value::toString);
+         assertEquals(value.isSmall(), scaled.isSmall(), value::toString);
+      
+         seen.add(value);
+      
+         assertTrue(seen.contains(scaled), value::toString);
+      
+      }
+   
+      assertEquals(BigNumber.ONE, new BigNumber(BigInteger.TWO.pow(70), BigInteger.TWO.pow(70)));
+      assertNotEquals(BigNumber.ONE_HALF, BigNumber.ONE_HALF.negate());
+      assertNotEquals(BigNumber.ONE_HALF, BigNumber.ONE_THIRD);
+      assertNotEquals(BigNumber.ONE, new BigNumber(BigInteger.TWO.pow(64).add(BigInteger.ONE), BigInteger.TWO.pow(64)));
+      assertFalse(BigNumber.ONE_HALF.equals(null));
+      assertFalse(BigNumber.ONE_HALF.equals("1/2"));
+   
+   }
+
+   @Test
+   void compareToMatchesCrossMultiplication()
+   {
+   
+      final Random random = new Random(8);
+   
+      for (int i = 0; i < 5000; i++)
+      {
+      
+         final BigNumber left = operand(random, i);
+         final BigNumber right;
+      
+         switch (i % 4)
+         {
+         
+            case 0:
+               right = operand(random, i / 4);
+               break;
+         
+            case 1:
+               //as close as it gets, so the bit lengths cannot decide it
+               right = left.add(new BigNumber(BigInteger.ONE, BigInteger.TWO.pow(200)).multiply(random.nextBoolean() ? 1 : -1));
+               break;
+         
+            case 2:
+               //the same value, which must compare as 0
+               right = new BigNumber(left.getNumerator().multiply(BigInteger.valueOf(3)), left.getDenominator().multiply(BigInteger.valueOf(3)));
+               break;
+         
+            default:
+               //fractions of longs near the top of the range, which overflow 64 bit cross products
+               right = BigNumber.valueOf(Long.MAX_VALUE - random.nextInt(1000), Long.MAX_VALUE - random.nextInt(1000));
+               break;
+         
+         }
+      
+         final int expected = left.getNumerator().multiply(right.getDenominator()).compareTo(right.getNumerator().multiply(left.getDenominator()));
+      
+         assertEquals(expected, Integer.signum(left.compareTo(right)), left + " vs " + right);
+         assertEquals(-expected, Integer.signum(right.compareTo(left)), right + " vs " + left);
+         assertEquals(expected == 0, left.equals(right), left + " vs " + right);
+      
+      }
+   
+      assertTrue(BigNumber.valueOf(Long.MAX_VALUE - 1, Long.MAX_VALUE).compareTo(BigNumber.valueOf(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1)) > 0);
+      assertTrue(BigNumber.valueOf(Long.MIN_VALUE).compareTo(BigNumber.valueOf(Long.MIN_VALUE + 1)) < 0);
+      assertThrows(NullPointerException.class, () -> BigNumber.ONE.compareTo(null));
+   
+   }
+
+   @Test
+   void sortingOrdersByValue()
+   {
+   
+      final Random random = new Random(8);
+      final List<BigNumber> values = new ArrayList<>();
+   
+      for (int i = 0; i < 500; i++)
+      {
+      
+         values.add(operand(random, i));
+      
+      }
+   
+      Collections.sort(values);
+   
+      for (int i = 1; i < values.size(); i++)
+      {
+      
+         assertTrue(values.get(i - 1).subtract(values.get(i)).getNumerator().signum() <= 0, values.get(i - 1) + " before " + values.get(i));
+      
+      }
+   
+   }
+
+   @Test
+   void constantsAndCachedValues()
+   {
+   
+      assertEquals(new BigNumber(BigInteger.ZERO, BigInteger.ONE), BigNumber.ZERO);
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.ONE), BigNumber.ONE);
+      assertEquals(new BigNumber(BigInteger.TWO, BigInteger.ONE), BigNumber.TWO);
+      assertEquals(new BigNumber(BigInteger.TEN, BigInteger.ONE), BigNumber.TEN);
+      assertEquals(new BigNumber(BigInteger.ONE.negate(), BigInteger.ONE), BigNumber.MINUS_ONE);
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.TWO), BigNumber.ONE_HALF);
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.valueOf(3)), BigNumber.ONE_THIRD);
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.valueOf(4)), BigNumber.ONE_QUARTER);
+   
+      //the cache shares the public constants
+      assertSame(BigNumber.ZERO, BigNumber.valueOf(0));
+      assertSame(BigNumber.ONE, BigNumber.valueOf(1));
+      assertSame(BigNumber.TEN, BigNumber.valueOf(10));
+      assertSame(BigNumber.MINUS_ONE, BigNumber.valueOf(-1));
+      assertSame(BigNumber.TWO, BigNumber.valueOf(4, 2));
+      assertSame(BigNumber.ONE_HALF, BigNumber.valueOf(2, 4));
+      assertSame(BigNumber.ONE_THIRD, BigNumber.valueOf(-3, -9));
+      assertSame(BigNumber.ZERO, BigNumber.valueOf(0, -7));
+   
+      for (long i = -128; i <= 127; i++)
+      {
+      
+         assertSame(BigNumber.valueOf(i), BigNumber.valueOf(i));
+         assertEquals(new BigNumber(i), BigNumber.valueOf(i));
+      
+         if (i >= 2)
+         {
+         
+            assertSame(BigNumber.valueOf(1, i), BigNumber.valueOf(1, i));
+            assertEquals(new BigNumber(BigInteger.ONE, BigInteger.valueOf(i)), BigNumber.valueOf(1, i));
+         
+         }
+      
+      }
+   
+      assertEquals(new BigNumber(BigInteger.valueOf(-5), BigInteger.valueOf(3)), BigNumber.valueOf(10, -6));
+      assertEquals(new BigNumber(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.TWO), BigNumber.valueOf(Long.MIN_VALUE, 2));
+      assertThrows(IllegalArgumentException.class, () -> BigNumber.valueOf(1, 0));
+   
+   }
+
+   @Test
+   void identitiesReturnExistingInstances()
+   {
+   
+      final BigNumber small = BigNumber.valueOf(7, 3);
+      final BigNumber big = new BigNumber(BigInteger.TWO.pow(100), BigInteger.valueOf(3));
+   
+      for (BigNumber value : new BigNumber[] {small, big})
+      {
+      
+         assertSame(value, value.add(BigNumber.ZERO));
+         assertSame(value, BigNumber.ZERO.add(value));
+         assertSame(value, value.add(0));
+         assertSame(value, value.subtract(BigNumber.ZERO));
+         assertSame(value, value.multiply(BigNumber.ONE));
+         assertSame(value, BigNumber.ONE.multiply(value));
+         assertSame(value, value.multiply(1));
+         assertSame(BigNumber.ZERO, value.multiply(BigNumber.ZERO));
+         assertSame(BigNumber.ZERO, value.multiply(0));
+      
+      }
+   
+   }
+
+   @Test
+   void powMatchesBigIntegerPow()
+   {
+   
+      final Random random = new Random(13);
+   
+      for (int i = 0; i < 1000; i++)
+      {
+      
+         final BigNumber value = operand(random, i);
+         final int exponent = random.nextInt(41) - 20;
+      
+         if (value.equals(BigNumber.ZERO) && exponent < 0)
+         {
+         
+            assertThrows(IllegalArgumentException.class, () -> value.pow(exponent));
+         
+            continue;
+         
+         }
+      
+         final int absExponent = Math.abs(exponent);
+         final BigInteger numerator = value.getNumerator().pow(absExponent);
+         final BigInteger denominator = value.getDenominator().pow(absExponent);
+         final BigNumber actual = value.pow(exponent);
+      
+         if (exponent >= 0)
+         {
+         
+            assertFraction(numerator, denominator, actual, value + " ^ " + exponent);
+         
+         }
+      
+         else
+         {
+         
+            assertFraction(denominator, numerator, actual, value + " ^ " + exponent);
+         
+         }
+      
+         assertRepresentation(actual);
+      
+      }
+   
+   }
+
+   @Test
+   void powEdgeCases()
+   {
+   
+      assertSame(BigNumber.ONE, BigNumber.ZERO.pow(0));
+      assertEquals(BigNumber.ZERO, BigNumber.ZERO.pow(5));
+      assertEquals(BigNumber.ONE, BigNumber.ONE.pow(Integer.MIN_VALUE));
+      assertEquals(BigNumber.ONE, BigNumber.MINUS_ONE.pow(Integer.MIN_VALUE));
+      assertEquals(BigNumber.MINUS_ONE, BigNumber.MINUS_ONE.pow(Integer.MAX_VALUE));
+      assertEquals(BigNumber.valueOf(-8, 27), BigNumber.valueOf(-2, 3).pow(3));
+      assertEquals(BigNumber.valueOf(9, 4), BigNumber.valueOf(-2, 3).pow(-2));
+      assertEquals(BigNumber.valueOf(1L << 62), BigNumber.TWO.pow(62));
+      assertEquals(new BigNumber(BigInteger.TWO.pow(63)), BigNumber.TWO.pow(63));
+      assertEquals(new BigNumber(BigInteger.ONE, BigInteger.valueOf(3).pow(100)), BigNumber.valueOf(3).pow(-100));
+      assertThrows(IllegalArgumentException.class, () -> BigNumber.ZERO.pow(-1));
+   
+   }
+
+   @Test
+   void sumAndProductMatchAFold()
+   {
+   
+      final Random random = new Random(15);
+   
+      //the sizes straddle the default parallel threshold of 1024
+      for (int size : new int[] {0, 1, 2, 3, 100, 1023, 1024, 1025, 5000})
+      {
+      
+         final List<BigNumber> values = new ArrayList<>();
+         BigNumber sum = BigNumber.ZERO;
+         BigNumber product = BigNumber.ONE;
+      
+         for (int i = 0; i < size; i++)
+         {
+         
+            final BigNumber value = BigNumber.valueOf(random.nextInt(39) - 19, random.nextInt(20) + 1);
+         
+            values.add(value);
+            sum = sum.add(value);
+            product = product.multiply(value.equals(BigNumber.ZERO) ? BigNumber.ONE : value);
+         
+         }
+      
+         assertEquals(sum, BigNumber.sum(values), "sum of " + size);
+      
+         values.removeIf(value -> value.equals(BigNumber.ZERO));
+      
+         assertEquals(product, BigNumber.product(values), "product of " + size);
+      
+      }
+   
+      //any collection will do, not just a list
+      assertEquals(BigNumber.valueOf(13, 12), BigNumber.sum(new HashSet<>(List.of(BigNumber.ONE_HALF, BigNumber.ONE_THIRD, BigNumber.ONE_QUARTER))));
+      assertEquals(BigNumber.valueOf(1, 24), BigNumber.product(new HashSet<>(List.of(BigNumber.ONE_HALF, BigNumber.ONE_THIRD, BigNumber.ONE_QUARTER))));
+   
+   }
+
+   @Test
+   void sumAndProductRejectNull()
+   {
+   
+      final List<BigNumber> withNull = new ArrayList<>(Collections.nCopies(2000, BigNumber.ONE));
+   
+      withNull.set(1500, null);
+   
+      assertThrows(NullPointerException.class, () -> BigNumber.sum(null));
+      assertThrows(NullPointerException.class, () -> BigNumber.product(null));
+      assertThrows(NullPointerException.class, () -> BigNumber.sum(withNull));
+      assertThrows(NullPointerException.class, () -> BigNumber.product(withNull));
+   
+   }
+
+   @Test
+   void fmaMatchesPlainArithmetic()
+   {
+   
+      final Random random = new Random(18);
+   
+      for (int i = 0; i < 3000; i++)
+      {
+      
+         final BigNumber a = operand(random, i);
+         final BigNumber b = operand(random, i / 5);
+         final BigNumber c = operand(random, i / 25);
+         final BigInteger product = a.getNumerator().multiply(b.getNumerator());
+         final BigInteger denominator = a.getDenominator().multiply(b.getDenominator());
+      
+         assertFraction(product.multiply(c.getDenominator()).add(c.getNumerator().multiply(denominator)), denominator.multiply(c.getDenominator()), a.fma(b, c), a + " * " + b + " + " + c);
+      
+      }
+   
+      //the product overflows longs on its own, but the sum comes back into range
+      final BigNumber big = BigNumber.valueOf(Long.MAX_VALUE);
+   
+      assertEquals(BigNumber.ONE, big.fma(big, new BigNumber(BigInteger.valueOf(Long.MAX_VALUE).pow(2).negate().add(BigInteger.ONE))));
+      assertThrows(NullPointerException.class, () -> BigNumber.ONE.fma(null, BigNumber.ONE));
+      assertThrows(NullPointerException.class, () -> BigNumber.ONE.fma(BigNumber.ONE, null));
+   
+   }
+
+   @Test
+   void dotMatchesASumOfProducts()
+   {
+   
+      final Random random = new Random(180);
+   
+      for (int length : new int[] {0, 1, 2, 10, 500})
+      {
+      
+         final BigNumber[] x = new BigNumber[length];
+         final BigNumber[] y = new BigNumber[length];
+         BigNumber expected = BigNumber.ZERO;
+      
+         for (int i = 0; i < length; i++)
+         {
+         
+            x[i] = operand(random, i);
+            y[i] = operand(random, i / 5);
+            expected = expected.add(x[i].multiply(y[i]));
+         
+         }
+      
+         assertEquals(expected, BigNumber.dot(x, y), "length " + length);
+      
+      }
+   
+      assertThrows(IllegalArgumentException.class, () -> BigNumber.dot(new BigNumber[] {BigNumber.ONE}, new BigNumber[0]));
+      assertThrows(NullPointerException.class, () -> BigNumber.dot(null, new BigNumber[0]));
+      assertThrows(NullPointerException.class, () -> BigNumber.dot(new BigNumber[0], null));
+      assertThrows(NullPointerException.class, () -> BigNumber.dot(new BigNumber[] {BigNumber.ONE}, new BigNumber[] {null}));
+   
+   }
+
+}
\ No newline at end of file
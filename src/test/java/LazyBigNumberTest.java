@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Tests for LazyBigNumber, against the same operations on BigNumber.
+ *
+ */
+class LazyBigNumberTest
+{
+
+   @Test
+   void subtractLongMinValue()
+   {
+   
+      final BigInteger expected = BigInteger.valueOf(5).subtract(BigInteger.valueOf(Long.MIN_VALUE));
+   
+      assertEquals(new BigNumber(expected), new LazyBigNumber(5).subtract(Long.MIN_VALUE).toBigNumber());
+      assertEquals(new BigNumber(expected), new LazyBigNumber(new BigNumber(5)).subtract(Long.MIN_VALUE).toBigNumber());
+      assertEquals(BigNumber.ONE_HALF.subtract(Long.MIN_VALUE), new LazyBigNumber(BigNumber.ONE_HALF).subtract(Long.MIN_VALUE).toBigNumber());
+   
+   }
+
+   @Test
+   void longOperationsMatchBigNumber()
+   {
+   
+      final long[] params = {0, 1, -1, 7, -12, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+      final BigNumber[] values = {BigNumber.ZERO, BigNumber.ONE_THIRD, BigNumber.valueOf(-7, 4), new BigNumber(BigInteger.TWO.pow(100), BigInteger.valueOf(3))};
+   
+      for (BigNumber value : values)
+      {
+      
+         final LazyBigNumber lazy = new LazyBigNumber(value).add(new LazyBigNumber(0));
+      
+         for (long param : params)
+         {
+         
+            assertEquals(value.add(param), lazy.add(param).toBigNumber(), value + " + " + param);
+            assertEquals(value.subtract(param), lazy.subtract(param).toBigNumber(), value + " - " + param);
+            assertEquals(value.multiply(param), lazy.multiply(param).toBigNumber(), value + " * " + param);
+         
+            if (param != 0)
+            {
+            
+               assertEquals(value.divide(param), lazy.divide(param).toBigNumber(), value + " / " + param);
+            
+            }
+         
+         }
+      
+      }
+   
+   }
+
+   @Test
+   void longAddsKeepAReducedValueReduced()
+   {
+   
+      final BigNumber start = new BigNumber(BigInteger.TWO.pow(200).add(BigInteger.ONE), BigInteger.valueOf(3).pow(100));
+      LazyBigNumber lazy = new LazyBigNumber(start);
+      BigNumber expected = start;
+   
+      for (long i = 0; i < 100; i++)
+      {
+      
+         lazy = i % 2 == 0 ? lazy.add(i * 1_000_003) : lazy.subtract(i * 7);
+         expected = i % 2 == 0 ? expected.add(i * 1_000_003) : expected.subtract(i * 7);
+      
+         //adding an integer cannot make a common factor, so nothing needs simplifying
+         assertTrue(lazy.isReduced());
+      
+      }
+   
+      assertEquals(expected, lazy.toBigNumber());
+      assertFalse(lazy.multiply(3).isReduced());
+      assertFalse(new LazyBigNumber(5).divide(10).add(1).isReduced());
+   
+   }
+
+}
\ No newline at end of file